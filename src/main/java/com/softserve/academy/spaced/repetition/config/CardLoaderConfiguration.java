@@ -5,18 +5,20 @@ import com.softserve.academy.spaced.repetition.service.cardLoaders.CardUploader;
 import com.softserve.academy.spaced.repetition.service.cardLoaders.DbConnector;
 import com.softserve.academy.spaced.repetition.service.cardLoaders.SqliteConnector;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 @Configuration
 public class CardLoaderConfiguration {
-    private static final String FILE_PATH = "src/main/resources/data/uploadedCards/card.db";
+    @Value("${app.cards.anki.uploadPath:uploads/anki}")
+    private String uploadPath;
 
     @Bean
     @Qualifier("cardUploader")
     public CardUploader getUploader() {
         CardUploader cardUploader = new AnkiCardUploader();
-        cardUploader.setFilePath(FILE_PATH);
+        cardUploader.setUploadDirectory(uploadPath);
         return cardUploader;
     }
 
@@ -1,11 +1,15 @@
 package com.softserve.academy.spaced.repetition.controller;
 
 import com.softserve.academy.spaced.repetition.controller.utils.dto.DTOBuilder;
+import com.softserve.academy.spaced.repetition.controller.utils.dto.impl.AuditHourlyCountDTO;
 import com.softserve.academy.spaced.repetition.controller.utils.dto.impl.AuditPublicDTO;
 import com.softserve.academy.spaced.repetition.domain.Audit;
+import com.softserve.academy.spaced.repetition.domain.AuditHourlyCount;
 import com.softserve.academy.spaced.repetition.service.AuditService;
+import com.softserve.academy.spaced.repetition.utils.audit.AuditingAction;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.hateoas.Link;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -13,6 +17,7 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.Date;
 import java.util.List;
 
 import static org.springframework.hateoas.mvc.ControllerLinkBuilder.linkTo;
@@ -43,132 +48,42 @@ public class AuditController {
     }
 
     /**
-     * Get list of audit sorted by account email on growth with self-link
+     * Get list of audit records newest first, optionally filtered by email, action, ip-address and time range.
+     * Next page is requested with the auditId of the last record passed as before.
      *
      * @return - list of audit
      */
-    @GetMapping("api/admin/audit/sort/email/rise")
-    public ResponseEntity<List<AuditPublicDTO>> getAuditListSortedByAccountEmailAsc() {
-        List<Audit> auditList = auditService.getAuditListSortedByAccountEmailAsc();
-        Link link = linkTo(methodOn(AuditController.class).getAuditListSortedByAccountEmailAsc()).withSelfRel();
+    @GetMapping("api/admin/audit/query")
+    public ResponseEntity<List<AuditPublicDTO>> getAuditBefore(
+            @RequestParam(name = "before", required = false) Long beforeId,
+            @RequestParam(name = "email", required = false) String accountEmail,
+            @RequestParam(name = "action", required = false) AuditingAction action,
+            @RequestParam(name = "ip", required = false) String ipAddress,
+            @RequestParam(name = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                    Date from,
+            @RequestParam(name = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                    Date to,
+            @RequestParam(name = "size", defaultValue = "10") int size) {
+        List<Audit> auditList = auditService.getAuditBefore(beforeId, accountEmail, action, ipAddress, from, to, size);
+        Link link = linkTo(methodOn(AuditController.class)
+                .getAuditBefore(beforeId, accountEmail, action, ipAddress, from, to, size)).withSelfRel();
         List<AuditPublicDTO> auditDTOList = DTOBuilder.buildDtoListForCollection(auditList, AuditPublicDTO.class, link);
         return new ResponseEntity<>(auditDTOList, HttpStatus.OK);
     }
 
     /**
-     * Get list of audit sorted by account email in descending order with self-link
+     * Get number of audited actions per hour within the time range with self-link
      *
-     * @return - list of audit
-     */
-    @GetMapping("api/admin/audit/sort/email/fall")
-    public ResponseEntity<List<AuditPublicDTO>> getAuditListSortedByAccountEmailDesc() {
-        List<Audit> auditList = auditService.getAuditListSortedByAccountEmailDesc();
-        Link link = linkTo(methodOn(AuditController.class).getAuditListSortedByAccountEmailDesc()).withSelfRel();
-        List<AuditPublicDTO> auditDTOList = DTOBuilder.buildDtoListForCollection(auditList, AuditPublicDTO.class, link);
-        return new ResponseEntity<>(auditDTOList, HttpStatus.OK);
-    }
-
-    /**
-     * Get list of audit sorted by action on growth with self-link
-     *
-     * @return - list of audit
-     */
-    @GetMapping("api/admin/audit/sort/action/rise")
-    public ResponseEntity<List<AuditPublicDTO>> getAuditListSortedByActionAsc() {
-        List<Audit> auditList = auditService.getAuditListSortedByActionAsc();
-        Link link = linkTo(methodOn(AuditController.class).getAuditListSortedByActionAsc()).withSelfRel();
-        List<AuditPublicDTO> auditDTOList = DTOBuilder.buildDtoListForCollection(auditList, AuditPublicDTO.class, link);
-        return new ResponseEntity<>(auditDTOList, HttpStatus.OK);
-    }
-
-    /**
-     * Get list of audit sorted by action in descending order with self-link
-     *
-     * @return - list of audit
+     * @return - list of hourly counts
      */
-    @GetMapping("api/admin/audit/sort/action/fall")
-    public ResponseEntity<List<AuditPublicDTO>> getAuditListSortedByActionAscDesc() {
-        List<Audit> auditList = auditService.getAuditListSortedByActionAscDesc();
-        Link link = linkTo(methodOn(AuditController.class).getAuditListSortedByActionAscDesc()).withSelfRel();
-        List<AuditPublicDTO> auditDTOList = DTOBuilder.buildDtoListForCollection(auditList, AuditPublicDTO.class, link);
-        return new ResponseEntity<>(auditDTOList, HttpStatus.OK);
-    }
-
-    /**
-     * Get list of audit sorted by ip-address on growth with self-link
-     *
-     * @return - list of audit
-     */
-    @GetMapping("api/admin/audit/sort/ip/rise")
-    public ResponseEntity<List<AuditPublicDTO>> getAuditListSortedByIpAddressAsc() {
-        List<Audit> auditList = auditService.getAuditListSortedByIpAddressAsc();
-        Link link = linkTo(methodOn(AuditController.class).getAuditListSortedByIpAddressAsc()).withSelfRel();
-        List<AuditPublicDTO> auditDTOList = DTOBuilder.buildDtoListForCollection(auditList, AuditPublicDTO.class, link);
-        return new ResponseEntity<>(auditDTOList, HttpStatus.OK);
-    }
-
-    /**
-     * Get list of audit sorted by ip-address in descending order with self-link
-     *
-     * @return - list of audit
-     */
-    @GetMapping("api/admin/audit/sort/ip/fall")
-    public ResponseEntity<List<AuditPublicDTO>> getAuditListSortedByIpAddressDesc() {
-        List<Audit> auditList = auditService.getAuditListSortedByIpAddressDesc();
-        Link link = linkTo(methodOn(AuditController.class).getAuditListSortedByIpAddressDesc()).withSelfRel();
-        List<AuditPublicDTO> auditDTOList = DTOBuilder.buildDtoListForCollection(auditList, AuditPublicDTO.class, link);
-        return new ResponseEntity<>(auditDTOList, HttpStatus.OK);
-    }
-
-    /**
-     * Get list of audit sorted by time on growth with self-link
-     *
-     * @return - list of audit
-     */
-    @GetMapping("api/admin/audit/sort/time/rise")
-    public ResponseEntity<List<AuditPublicDTO>> getAuditListSortedByTimeAsc() {
-        List<Audit> auditList = auditService.getAuditListSortedByTimeAsc();
-        Link link = linkTo(methodOn(AuditController.class).getAuditListSortedByTimeAsc()).withSelfRel();
-        List<AuditPublicDTO> auditDTOList = DTOBuilder.buildDtoListForCollection(auditList, AuditPublicDTO.class, link);
-        return new ResponseEntity<>(auditDTOList, HttpStatus.OK);
-    }
-
-    /**
-     * Get list of audit sorted by time in descending order with self-link
-     *
-     * @return - list of audit
-     */
-    @GetMapping("api/admin/audit/sort/time/fall")
-    public ResponseEntity<List<AuditPublicDTO>> getAuditListSortedByTimeDesc() {
-        List<Audit> auditList = auditService.getAuditListSortedByTimeDesc();
-        Link link = linkTo(methodOn(AuditController.class).getAuditListSortedByTimeDesc()).withSelfRel();
-        List<AuditPublicDTO> auditDTOList = DTOBuilder.buildDtoListForCollection(auditList, AuditPublicDTO.class, link);
-        return new ResponseEntity<>(auditDTOList, HttpStatus.OK);
-    }
-
-    /**
-     * Get list of audit sorted by role on growth with self-link
-     *
-     * @return - list of audit
-     */
-    @GetMapping("api/admin/audit/sort/role/rise")
-    public ResponseEntity<List<AuditPublicDTO>> getAuditListSortedByRoleAsc() {
-        List<Audit> auditList = auditService.getAuditListSortedByRoleAsc();
-        Link link = linkTo(methodOn(AuditController.class).getAuditListSortedByRoleAsc()).withSelfRel();
-        List<AuditPublicDTO> auditDTOList = DTOBuilder.buildDtoListForCollection(auditList, AuditPublicDTO.class, link);
-        return new ResponseEntity<>(auditDTOList, HttpStatus.OK);
-    }
-
-    /**
-     * Get list of audit sorted by role in descending order with self-link
-     *
-     * @return - list of audit
-     */
-    @GetMapping("api/admin/audit/sort/role/fall")
-    public ResponseEntity<List<AuditPublicDTO>> getAuditListSortedByRoleDesc() {
-        List<Audit> auditList = auditService.getAuditListSortedByRoleDesc();
-        Link link = linkTo(methodOn(AuditController.class).getAuditListSortedByRoleDesc()).withSelfRel();
-        List<AuditPublicDTO> auditDTOList = DTOBuilder.buildDtoListForCollection(auditList, AuditPublicDTO.class, link);
-        return new ResponseEntity<>(auditDTOList, HttpStatus.OK);
+    @GetMapping("api/admin/audit/hourly")
+    public ResponseEntity<List<AuditHourlyCountDTO>> getHourlyCounts(
+            @RequestParam(name = "from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Date from,
+            @RequestParam(name = "to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Date to) {
+        List<AuditHourlyCount> hourlyCounts = auditService.getHourlyCounts(from, to);
+        Link link = linkTo(methodOn(AuditController.class).getHourlyCounts(from, to)).withSelfRel();
+        List<AuditHourlyCountDTO> hourlyCountDTOList =
+                DTOBuilder.buildDtoListForCollection(hourlyCounts, AuditHourlyCountDTO.class, link);
+        return new ResponseEntity<>(hourlyCountDTOList, HttpStatus.OK);
     }
-}
\ No newline at end of file
+}
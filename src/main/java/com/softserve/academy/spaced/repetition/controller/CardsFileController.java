@@ -1,11 +1,17 @@
 package com.softserve.academy.spaced.repetition.controller;
 
+import com.softserve.academy.spaced.repetition.controller.utils.dto.DTOBuilder;
+import com.softserve.academy.spaced.repetition.controller.utils.dto.impl.CardImportJobDTO;
+import com.softserve.academy.spaced.repetition.domain.CardImportJob;
+import com.softserve.academy.spaced.repetition.service.CardImportService;
 import com.softserve.academy.spaced.repetition.service.CardService;
 import com.softserve.academy.spaced.repetition.utils.exceptions.EmptyFileException;
 import com.softserve.academy.spaced.repetition.utils.exceptions.NotAuthorisedUserException;
 import com.softserve.academy.spaced.repetition.utils.exceptions.NotOwnerOperationException;
 import com.softserve.academy.spaced.repetition.utils.exceptions.WrongFormatException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.hateoas.Link;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
@@ -15,28 +21,68 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.multipart.MultipartFile;
 
+import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
+import java.util.zip.GZIPOutputStream;
+
+import static org.springframework.hateoas.mvc.ControllerLinkBuilder.linkTo;
+import static org.springframework.hateoas.mvc.ControllerLinkBuilder.methodOn;
 
 @Controller
 public class CardsFileController {
+    private static final String GZIP_ENCODING = "gzip";
 
     @Autowired
     private CardService cardService;
 
+    @Autowired
+    private CardImportService cardImportService;
+
+    /**
+     * Starts import of cards from the file in the background
+     *
+     * @return - import job with link to follow its progress
+     */
     @PostMapping("api/private/upload/deck/{deckId}/cards")
-    public ResponseEntity uploadFile(@RequestParam("file") MultipartFile cardsFile, @PathVariable Long deckId)
+    public ResponseEntity<CardImportJobDTO> uploadFile(@RequestParam("file") MultipartFile cardsFile,
+                                                       @PathVariable Long deckId)
             throws WrongFormatException,NotOwnerOperationException, NotAuthorisedUserException, EmptyFileException,
             IOException {
-        cardService.uploadCards(cardsFile, deckId);
-        return new ResponseEntity(HttpStatus.OK);
+        CardImportJob job = cardImportService.startImport(cardsFile, deckId);
+        Link link = linkTo(methodOn(CardsFileController.class).getImportJob(job.getId())).withSelfRel();
+        return new ResponseEntity<>(DTOBuilder.buildDtoForEntity(job, CardImportJobDTO.class, link),
+                HttpStatus.ACCEPTED);
+    }
+
+    @GetMapping("api/private/upload/cards/job/{jobId}")
+    public ResponseEntity<CardImportJobDTO> getImportJob(@PathVariable Long jobId) throws NotAuthorisedUserException {
+        CardImportJob job = cardImportService.getImportJob(jobId);
+        if (job == null) {
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        }
+        Link link = linkTo(methodOn(CardsFileController.class).getImportJob(jobId)).withSelfRel();
+        return new ResponseEntity<>(DTOBuilder.buildDtoForEntity(job, CardImportJobDTO.class, link), HttpStatus.OK);
     }
 
+    /**
+     * Download cards of the deck as YAML file, compressed with gzip if the client accepts it
+     */
     @GetMapping("download/deck/{deckId}/cards")
-    public void downloadFile(HttpServletResponse response, @PathVariable Long deckId) throws IOException {
+    public void downloadFile(HttpServletRequest request, HttpServletResponse response, @PathVariable Long deckId)
+            throws IOException {
         response.setContentType("application/octet-stream");
         response.setHeader("Content-Disposition", "attachment; filename=Cards.yml");
-        cardService.downloadCards(deckId, response.getOutputStream());
+        String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        if (acceptEncoding != null && acceptEncoding.contains(GZIP_ENCODING)) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, GZIP_ENCODING);
+            response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+            try (GZIPOutputStream gzipOutputStream = new GZIPOutputStream(response.getOutputStream())) {
+                cardService.downloadCards(deckId, gzipOutputStream);
+            }
+        } else {
+            cardService.downloadCards(deckId, response.getOutputStream());
+        }
     }
 
     @GetMapping("api/private/download/template/cards")
@@ -63,12 +63,13 @@ public class CourseController {
     }
 
     @GetMapping(value = "/api/courses/ordered")
-    public ResponseEntity<List<CourseLinkDTO>> getAllCoursesOrderByRating() {
-        List<Course> courseList = courseService.getAllOrderedCourses();
-        Link collectionLink = linkTo(methodOn(CourseController.class).getAllCoursesOrderByRating()).withRel("course");
-        List<CourseLinkDTO> decks = DTOBuilder
-                .buildDtoListForCollection(courseList, CourseLinkDTO.class, collectionLink);
-        return new ResponseEntity<>(decks, HttpStatus.OK);
+    public ResponseEntity<Page<CourseLinkDTO>> getAllCoursesOrderByRating(
+            @RequestParam(name = "p", defaultValue = "1") int pageNumber) {
+        Link collectionLink = new Link(linkTo(methodOn(CourseController.class).getAllCoursesOrderByRating(pageNumber))
+                .toUriComponentsBuilder().replaceQuery(null).toUriString());
+        Page<CourseLinkDTO> courses = DTOBuilder.buildDtoPageForCollection(courseService.getOrderedCourses(pageNumber),
+                CourseLinkDTO.class, collectionLink);
+        return new ResponseEntity<>(courses, HttpStatus.OK);
     }
 
     @Auditable(action = AuditingAction.VIEW_TOP_COURSES)
@@ -51,10 +51,11 @@ public class DeckController {
     }
 
     @GetMapping(value = "/api/decks/ordered")
-    public ResponseEntity<List<DeckPublicDTO>> getAllDecksOrderByRating() {
-        List<Deck> decksList = deckService.getAllOrderedDecks();
-        Link collectionLink = linkTo(methodOn(DeckController.class).getAllDecksOrderByRating()).withRel("deck");
-        List<DeckPublicDTO> decks = DTOBuilder.buildDtoListForCollection(decksList,
+    public ResponseEntity<Page<DeckPublicDTO>> getAllDecksOrderByRating(
+            @RequestParam(name = "p", defaultValue = "1") int pageNumber) {
+        Link collectionLink = new Link(linkTo(methodOn(DeckController.class).getAllDecksOrderByRating(pageNumber))
+                .toUriComponentsBuilder().replaceQuery(null).toUriString());
+        Page<DeckPublicDTO> decks = DTOBuilder.buildDtoPageForCollection(deckService.getOrderedDecks(pageNumber),
                 DeckPublicDTO.class, collectionLink);
         return new ResponseEntity<>(decks, HttpStatus.OK);
     }
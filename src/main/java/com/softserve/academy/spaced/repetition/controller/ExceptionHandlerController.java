@@ -27,6 +27,7 @@ import java.util.EnumMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.NoSuchElementException;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.stream.Collectors;
 
 @ControllerAdvice
@@ -99,6 +100,13 @@ public class ExceptionHandlerController extends ResponseEntityExceptionHandler {
         return new MessageDTO(messageSource.getMessage("message.exception.mailNotSent", new Object[]{}, locale));
     }
 
+    @ExceptionHandler(RejectedExecutionException.class)
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    @ResponseBody
+    MessageDTO handleRejectedExecutionException() {
+        return new MessageDTO(messageSource.getMessage("message.exception.serverBusy", new Object[]{}, locale));
+    }
+
     @ExceptionHandler(WrongFormatException.class)
     @ResponseStatus(HttpStatus.NOT_ACCEPTABLE)
     @ResponseBody
@@ -6,6 +6,8 @@ import com.softserve.academy.spaced.repetition.controller.utils.dto.impl.Uploadi
 import com.softserve.academy.spaced.repetition.domain.Image;
 import com.softserve.academy.spaced.repetition.repository.ImageRepository;
 import com.softserve.academy.spaced.repetition.service.ImageService;
+import com.softserve.academy.spaced.repetition.service.storage.ImageContent;
+import com.softserve.academy.spaced.repetition.service.storage.ImageTypes;
 import com.softserve.academy.spaced.repetition.utils.audit.Auditable;
 import com.softserve.academy.spaced.repetition.utils.audit.AuditingAction;
 import com.softserve.academy.spaced.repetition.utils.exceptions.CanNotBeDeletedException;
@@ -13,7 +15,10 @@ import com.softserve.academy.spaced.repetition.utils.exceptions.ImageRepositoryS
 import com.softserve.academy.spaced.repetition.utils.exceptions.NotAuthorisedUserException;
 import com.softserve.academy.spaced.repetition.utils.exceptions.NotOwnerOperationException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
 import org.springframework.hateoas.Link;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -21,17 +26,22 @@ import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 import static org.springframework.hateoas.mvc.ControllerLinkBuilder.linkTo;
 import static org.springframework.hateoas.mvc.ControllerLinkBuilder.methodOn;
 
 @RestController
 public class ImageController {
+    static final String NO_SNIFF_HEADER = "X-Content-Type-Options";
+    static final String NO_SNIFF = "nosniff";
 
     @Autowired
     private ImageService imageService;
     @Autowired
     private ImageRepository imageRepository;
+    @Value("${app.images.cacheMaxAge:86400}")
+    private long imageCacheMaxAge;
 
     /**
      * Upload and add the image to the database
@@ -49,7 +59,7 @@ public class ImageController {
             throws ImageRepositorySizeQuotaExceededException, NotAuthorisedUserException {
         Image image = imageService.addImageToDB(file);
         Long imageId = image.getId();
-        Link link = linkTo(methodOn(ImageController.class).getImageById(imageId)).withSelfRel();
+        Link link = linkTo(methodOn(ImageController.class).getImageById(imageId, null, null, null)).withSelfRel();
         UploadingImageDTO uploadingimageDTO = DTOBuilder.buildDtoForEntity(image, UploadingImageDTO.class, link);
         Long bytesLeft = imageService.getUsersLimitInBytesForImagesLeft(image.getCreatedBy().getId());
         uploadingimageDTO.setBytesLeft(bytesLeft);
@@ -70,18 +80,32 @@ public class ImageController {
     }
 
     /**
-     * Download image as array of bytes with getting it by id
+     * Download image content with getting it by id. The content hash is used as ETag,
+     * so a client that already has the image gets 304 without the content (checked by Spring MVC).
      *
-     * @param id - id of image from database
-     * @return array of bytes that contain image content
+     * @param id     - id of image from database
+     * @param width  - max width of the image, one of app.images.variants.sizes, or null for the original width
+     * @param height - max height of the image, one of app.images.variants.sizes, or null for the original height
+     * @param format - format of the image (jpeg, png, gif) or null for the original format
+     * @return image content
      */
-    @GetMapping(value = "/api/service/image/{id}", produces = {MediaType.IMAGE_JPEG_VALUE})
-    public ResponseEntity<byte[]> getImageById(@PathVariable("id") Long id) {
-        byte[] imageContentBytes = imageService.getDecodedImageContentByImageId(id);
-        if (imageContentBytes == null) {
+    @GetMapping(value = "/api/service/image/{id}")
+    public ResponseEntity<Resource> getImageById(@PathVariable("id") Long id,
+                                                 @RequestParam(name = "width", required = false) Integer width,
+                                                 @RequestParam(name = "height", required = false) Integer height,
+                                                 @RequestParam(name = "format", required = false) String format) {
+        ImageContent imageContent = imageService.getImageContent(id);
+        if (imageContent == null) {
             return new ResponseEntity<>(HttpStatus.NOT_FOUND);
         }
-        return ResponseEntity.ok().contentType(MediaType.IMAGE_JPEG).body(imageContentBytes);
+        imageContent = imageService.getImageVariant(imageContent, width, height, format);
+        String eTag = "\"" + imageContent.getContentHash() + "\"";
+        CacheControl cacheControl = CacheControl.maxAge(imageCacheMaxAge, TimeUnit.SECONDS).cachePublic();
+        MediaType contentType = ImageTypes.isRaster(imageContent.getContentType())
+                ? MediaType.parseMediaType(imageContent.getContentType()) : MediaType.APPLICATION_OCTET_STREAM;
+        return ResponseEntity.ok().eTag(eTag).cacheControl(cacheControl).contentType(contentType)
+                .header(NO_SNIFF_HEADER, NO_SNIFF)
+                .body(imageContent.getResource());
     }
 
     /**
@@ -1,5 +1,6 @@
 package com.softserve.academy.spaced.repetition.controller;
 
+import com.softserve.academy.spaced.repetition.controller.utils.dto.CardReviewDTO;
 import com.softserve.academy.spaced.repetition.controller.utils.dto.DTOBuilder;
 import com.softserve.academy.spaced.repetition.controller.utils.dto.impl.UserCardQueuePublicDTO;
 import com.softserve.academy.spaced.repetition.domain.UserCardQueue;
@@ -11,6 +12,9 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+import java.util.Map;
+
 import static org.springframework.hateoas.mvc.ControllerLinkBuilder.linkTo;
 import static org.springframework.hateoas.mvc.ControllerLinkBuilder.methodOn;
 
@@ -29,11 +33,31 @@ public class UserCardQueueController {
         return ResponseEntity.ok().build();
     }
 
+    @PutMapping("/api/private/decks/{deckId}/cards/queue")
+    @PreAuthorize(value = "@accessToUrlService.hasAccessToCards(#deckId, #reviews.![cardId])")
+    public ResponseEntity updateUserCardQueues(@PathVariable Long deckId, @RequestBody List<CardReviewDTO> reviews)
+            throws NotAuthorisedUserException, IllegalArgumentException {
+        userCardQueueService.updateUserCardQueues(deckId, reviews);
+        return ResponseEntity.ok().build();
+    }
+
+    @PostMapping("/api/private/decks/{deckId}/cards/queue/log")
+    @PreAuthorize(value = "@accessToUrlService.hasAccessToCards(#deckId, #events.![cardId])")
+    public ResponseEntity<Integer> syncReviewLog(@PathVariable Long deckId, @RequestBody List<CardReviewDTO> events)
+            throws NotAuthorisedUserException, IllegalArgumentException {
+        return ResponseEntity.ok(userCardQueueService.syncReviewLog(deckId, events));
+    }
+
     @GetMapping("/api/private/decks/{deckId}/cards-that-need-repeating/count")
     public ResponseEntity<Long> countCardsThatNeedRepeating(@PathVariable Long deckId) throws NotAuthorisedUserException {
         return ResponseEntity.ok(userCardQueueService.countCardsThatNeedRepeating(deckId));
     }
 
+    @GetMapping("/api/private/decks/cards-that-need-repeating/count")
+    public ResponseEntity<Map<Long, Long>> countCardsThatNeedRepeatingToday() throws NotAuthorisedUserException {
+        return ResponseEntity.ok(userCardQueueService.countCardsThatNeedRepeatingToday());
+    }
+
     @GetMapping("api/user/card/queue/{userCardQueueId}")
     public ResponseEntity<UserCardQueuePublicDTO> getUserCardQueueById(@PathVariable Long userCardQueueId) {
         UserCardQueue userCardQueue = userCardQueueService.getUserCardQueueById(userCardQueueId);
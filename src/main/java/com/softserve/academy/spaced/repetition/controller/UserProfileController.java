@@ -3,15 +3,20 @@ package com.softserve.academy.spaced.repetition.controller;
 import com.softserve.academy.spaced.repetition.controller.utils.dto.Request;
 import com.softserve.academy.spaced.repetition.controller.utils.dto.impl.PasswordDTO;
 import com.softserve.academy.spaced.repetition.domain.Person;
+import com.softserve.academy.spaced.repetition.service.ImageService;
 import com.softserve.academy.spaced.repetition.service.UserService;
+import com.softserve.academy.spaced.repetition.service.storage.ImageContent;
 import com.softserve.academy.spaced.repetition.utils.audit.Auditable;
 import com.softserve.academy.spaced.repetition.utils.audit.AuditingAction;
 import com.softserve.academy.spaced.repetition.utils.exceptions.ImageRepositorySizeQuotaExceededException;
 import com.softserve.academy.spaced.repetition.utils.exceptions.NotAuthorisedUserException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.DigestUtils;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
@@ -22,6 +27,9 @@ public class UserProfileController {
     @Autowired
     UserService userService;
 
+    @Autowired
+    ImageService imageService;
+
     @Auditable(action = AuditingAction.EDIT_PERSONAL_DATA)
     @PutMapping(value = "/api/private/user/data")
     public ResponseEntity editPersonalData(@Validated(Request.class) @RequestBody Person person)
@@ -46,13 +54,21 @@ public class UserProfileController {
         return new ResponseEntity(HttpStatus.OK);
     }
 
-    @GetMapping(value = "/api/private/user/image", produces = {MediaType.IMAGE_JPEG_VALUE})
-    public ResponseEntity<byte[]> getProfileImage() throws NotAuthorisedUserException {
+    @GetMapping(value = "/api/private/user/image")
+    public ResponseEntity<Resource> getProfileImage(@RequestParam(name = "width", required = false) Integer width,
+                                                    @RequestParam(name = "height", required = false) Integer height,
+                                                    @RequestParam(name = "format", required = false) String format)
+            throws NotAuthorisedUserException {
         byte[] imageContentBytes = userService.getDecodedImageContent();
         if (imageContentBytes == null) {
             return new ResponseEntity<>(HttpStatus.NOT_FOUND);
         }
-        return ResponseEntity.ok().contentType(MediaType.IMAGE_JPEG).body(imageContentBytes);
+        ImageContent imageContent = imageService.getImageVariant(new ImageContent(
+                DigestUtils.md5DigestAsHex(imageContentBytes), MediaType.IMAGE_JPEG_VALUE,
+                new ByteArrayResource(imageContentBytes)), width, height, format);
+        return ResponseEntity.ok().contentType(MediaType.parseMediaType(imageContent.getContentType()))
+                .header(ImageController.NO_SNIFF_HEADER, ImageController.NO_SNIFF)
+                .body(imageContent.getResource());
     }
 
     @Auditable(action = AuditingAction.DELETE_PROFILE)
@@ -0,0 +1,53 @@
+package com.softserve.academy.spaced.repetition.controller.utils.dto;
+
+import com.softserve.academy.spaced.repetition.domain.enums.UserCardQueueStatus;
+
+import java.util.Date;
+
+public class CardReviewDTO {
+    private String eventId;
+    private Long cardId;
+    private UserCardQueueStatus status;
+    private Date answeredAt;
+
+    public CardReviewDTO() {
+    }
+
+    public CardReviewDTO(Long cardId, UserCardQueueStatus status, Date answeredAt) {
+        this.cardId = cardId;
+        this.status = status;
+        this.answeredAt = answeredAt;
+    }
+
+    public String getEventId() {
+        return eventId;
+    }
+
+    public void setEventId(String eventId) {
+        this.eventId = eventId;
+    }
+
+    public Long getCardId() {
+        return cardId;
+    }
+
+    public void setCardId(Long cardId) {
+        this.cardId = cardId;
+    }
+
+    public UserCardQueueStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(UserCardQueueStatus status) {
+        this.status = status;
+    }
+
+    public Date getAnsweredAt() {
+        return answeredAt;
+    }
+
+    public void setAnsweredAt(Date answeredAt) {
+        this.answeredAt = answeredAt;
+    }
+}
@@ -1,45 +1,31 @@
 package com.softserve.academy.spaced.repetition.controller.utils.dto;
 
+import org.springframework.data.domain.Page;
 import org.springframework.hateoas.Link;
 
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
+/**
+ * Builds DTOs through their (entity) and (entity, link) constructors. The constructor of every DTO class is
+ * looked up once and matched by its declared entity type, so Hibernate proxies of the entity are accepted too.
+ */
 public class DTOBuilder {
+    private static final ConcurrentMap<Class<?>, Constructor<?>> ENTITY_CONSTRUCTORS = new ConcurrentHashMap<>();
+    private static final ConcurrentMap<Class<?>, Constructor<?>> LINKED_CONSTRUCTORS = new ConcurrentHashMap<>();
 
     public static <M extends EntityInterface, T extends DTO<M>> T buildDtoForEntity(M entity, Class<T> dtoClass) {
-        Constructor<T> declaredConstructor = null;
-        try {
-            declaredConstructor = dtoClass.getDeclaredConstructor(entity.getClass());
-        } catch (NoSuchMethodException e) {
-            e.printStackTrace();
-        }
-        T newInstance = null;
-        try {
-            newInstance = declaredConstructor.newInstance(entity);
-        } catch (IllegalAccessException | InstantiationException | InvocationTargetException e) {
-            e.printStackTrace();
-        }
-        return newInstance;
+        Constructor<T> constructor = getConstructor(ENTITY_CONSTRUCTORS, dtoClass, false);
+        return newInstance(constructor, entity);
     }
 
     public static <M extends EntityInterface, T extends DTO<M>> T buildDtoForEntity(M entity, Class<T> dtoClass, Link selfLink) {
-
-        Constructor<T> declaredConstructor = null;
-        try {
-            declaredConstructor = dtoClass.getDeclaredConstructor(entity.getClass(), selfLink.getClass());
-        } catch (NoSuchMethodException e) {
-            e.printStackTrace();
-        }
-        T newInstance = null;
-        try {
-            newInstance = declaredConstructor.newInstance(entity, selfLink.withSelfRel());
-        } catch (NullPointerException | InstantiationException | IllegalAccessException | InvocationTargetException e) {
-            e.printStackTrace();
-        }
-        return newInstance;
+        Constructor<T> constructor = getConstructor(LINKED_CONSTRUCTORS, dtoClass, true);
+        return newInstance(constructor, entity, selfLink.withSelfRel());
     }
 
     public static <M extends EntityInterface, T extends DTO<M>> List<T> buildDtoListForCollection(List<M> collection, Class<T> dtoClass) {
@@ -47,9 +33,9 @@ public class DTOBuilder {
         if (collection == null) {
             return result;
         }
+        Constructor<T> constructor = getConstructor(ENTITY_CONSTRUCTORS, dtoClass, false);
         for (M document : collection) {
-            T dtoForEntity = buildDtoForEntity(document, dtoClass);
-            result.add(dtoForEntity);
+            result.add(newInstance(constructor, document));
         }
         return result;
     }
@@ -59,11 +45,58 @@ public class DTOBuilder {
         if (collection == null) {
             return result;
         }
+        Constructor<T> constructor = getConstructor(LINKED_CONSTRUCTORS, dtoClass, true);
         for (M document : collection) {
-            Link selfLink = new Link(collectionLink.getHref() + "/" + document.getId()).withSelfRel();
-            T dtoForEntity = buildDtoForEntity(document, dtoClass, selfLink);
-            result.add(dtoForEntity);
+            result.add(newInstance(constructor, document, buildSelfLink(collectionLink, document)));
         }
         return result;
     }
+
+    /**
+     * Maps the content of the page, linking every DTO to the collection href followed by the id of its entity.
+     */
+    public static <M extends EntityInterface, T extends DTO<M>> Page<T> buildDtoPageForCollection(Page<M> page, Class<T> dtoClass, Link collectionLink) {
+        Constructor<T> constructor = getConstructor(LINKED_CONSTRUCTORS, dtoClass, true);
+        return page.map(document -> newInstance(constructor, document, buildSelfLink(collectionLink, document)));
+    }
+
+    private static Link buildSelfLink(Link collectionLink, EntityInterface entity) {
+        return new Link(collectionLink.getHref() + "/" + entity.getId()).withSelfRel();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> Constructor<T> getConstructor(ConcurrentMap<Class<?>, Constructor<?>> constructors,
+                                                     Class<T> dtoClass, boolean withLink) {
+        return (Constructor<T>) constructors.computeIfAbsent(dtoClass, type -> findConstructor(type, withLink));
+    }
+
+    private static Constructor<?> findConstructor(Class<?> dtoClass, boolean withLink) {
+        for (Constructor<?> constructor : dtoClass.getConstructors()) {
+            Class<?>[] parameters = constructor.getParameterTypes();
+            if (parameters.length == (withLink ? 2 : 1) && EntityInterface.class.isAssignableFrom(parameters[0])
+                    && (!withLink || parameters[1] == Link.class)) {
+                return constructor;
+            }
+        }
+        throw new IllegalArgumentException(dtoClass.getName() + " has no public constructor taking "
+                + (withLink ? "an entity and a link" : "an entity"));
+    }
+
+    private static <T> T newInstance(Constructor<T> constructor, Object... arguments) {
+        if (arguments[0] != null && !constructor.getParameterTypes()[0].isInstance(arguments[0])) {
+            throw new IllegalArgumentException(constructor.getDeclaringClass().getName() + " can not be built from "
+                    + arguments[0].getClass().getName());
+        }
+        try {
+            return constructor.newInstance(arguments);
+        } catch (InvocationTargetException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException("Failed to build " + constructor.getDeclaringClass().getSimpleName(),
+                    e.getCause());
+        } catch (InstantiationException | IllegalAccessException e) {
+            throw new IllegalStateException("Failed to build " + constructor.getDeclaringClass().getSimpleName(), e);
+        }
+    }
 }
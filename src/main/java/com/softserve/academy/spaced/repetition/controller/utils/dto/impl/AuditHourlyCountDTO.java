@@ -0,0 +1,27 @@
+package com.softserve.academy.spaced.repetition.controller.utils.dto.impl;
+
+import com.softserve.academy.spaced.repetition.controller.utils.dto.DTO;
+import com.softserve.academy.spaced.repetition.domain.AuditHourlyCount;
+import com.softserve.academy.spaced.repetition.utils.audit.AuditingAction;
+import org.springframework.hateoas.Link;
+
+import java.util.Date;
+
+public class AuditHourlyCountDTO extends DTO<AuditHourlyCount> {
+
+    public AuditHourlyCountDTO(AuditHourlyCount auditHourlyCount, Link link) {
+        super(auditHourlyCount, link);
+    }
+
+    public Date getHourStart() {
+        return getEntity().getHourStart();
+    }
+
+    public AuditingAction getAction() {
+        return getEntity().getAction();
+    }
+
+    public long getEventCount() {
+        return getEntity().getEventCount();
+    }
+}
@@ -11,6 +11,10 @@ public class AuditPublicDTO extends DTO<Audit> {
         super(audit, link);
     }
 
+    public Long getAuditId() {
+        return getEntity().getId();
+    }
+
     public String getAccountEmail() {
         return getEntity().getAccountEmail();
     }
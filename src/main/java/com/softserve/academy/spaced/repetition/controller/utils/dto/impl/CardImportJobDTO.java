@@ -0,0 +1,37 @@
+package com.softserve.academy.spaced.repetition.controller.utils.dto.impl;
+
+import com.softserve.academy.spaced.repetition.controller.utils.dto.DTO;
+import com.softserve.academy.spaced.repetition.domain.CardImportJob;
+import com.softserve.academy.spaced.repetition.domain.enums.CardImportJobStatus;
+import org.springframework.hateoas.Link;
+
+public class CardImportJobDTO extends DTO<CardImportJob> {
+
+    public CardImportJobDTO(CardImportJob job, Link link) {
+        super(job, link);
+    }
+
+    public Long getJobId() {
+        return getEntity().getId();
+    }
+
+    public Long getDeckId() {
+        return getEntity().getDeckId();
+    }
+
+    public CardImportJobStatus getStatus() {
+        return getEntity().getStatus();
+    }
+
+    public Integer getTotalCards() {
+        return getEntity().getTotalCards();
+    }
+
+    public int getProcessedCards() {
+        return getEntity().getProcessedCards();
+    }
+
+    public String getError() {
+        return getEntity().getError();
+    }
+}
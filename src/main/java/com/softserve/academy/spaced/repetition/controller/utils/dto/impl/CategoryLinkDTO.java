@@ -34,6 +34,6 @@ public class CategoryLinkDTO extends DTO<Category> {
     }
 
     public String getImage() {
-        return linkTo(methodOn(ImageController.class).getImageById(getEntity().getImage().getId())).withSelfRel().getHref();
+        return linkTo(methodOn(ImageController.class).getImageById(getEntity().getImage().getId(), null, null, null)).withSelfRel().getHref();
     }
 }
@@ -24,6 +24,6 @@ public class CategoryPublicDTO extends DTO<Category> {
     }
 
     public String getImage() {
-        return linkTo(methodOn(ImageController.class).getImageById(getEntity().getImage().getId())).withSelfRel().getHref();
+        return linkTo(methodOn(ImageController.class).getImageById(getEntity().getImage().getId(), null, null, null)).withSelfRel().getHref();
     }
 }
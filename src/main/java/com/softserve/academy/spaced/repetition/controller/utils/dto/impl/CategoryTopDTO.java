@@ -22,6 +22,6 @@ public class CategoryTopDTO extends DTO<Category> {
     }
 
     public String getImage() {
-        return linkTo(methodOn(ImageController.class).getImageById(getEntity().getImage().getId())).withSelfRel().getHref();
+        return linkTo(methodOn(ImageController.class).getImageById(getEntity().getImage().getId(), null, null, null)).withSelfRel().getHref();
     }
 }
@@ -29,7 +29,7 @@ public class CourseLinkDTO extends DTO <Course> {
     }
 
     public String getImage() {
-        return linkTo(methodOn(ImageController.class).getImageById(getEntity().getImage().getId())).withSelfRel().getHref();
+        return linkTo(methodOn(ImageController.class).getImageById(getEntity().getImage().getId(), null, null, null)).withSelfRel().getHref();
     }
 
     public Long getOwnerId() {
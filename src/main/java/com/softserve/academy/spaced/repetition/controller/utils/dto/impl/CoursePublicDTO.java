@@ -23,6 +23,6 @@ public class CoursePublicDTO extends DTO<Course> {
     }
 
     public String getImage() {
-        return linkTo(methodOn(ImageController.class).getImageById(getEntity().getImage().getId())).withSelfRel().getHref();
+        return linkTo(methodOn(ImageController.class).getImageById(getEntity().getImage().getId(), null, null, null)).withSelfRel().getHref();
     }
 }
@@ -12,7 +12,7 @@ public class ImageDTO extends DTO<Image> {
     public ImageDTO(Image entity, Link link) {
         super(entity, link);
         removeLinks();
-        getLinks().add(linkTo(methodOn(ImageController.class).getImageById(getEntity().getId())).withSelfRel());
+        getLinks().add(linkTo(methodOn(ImageController.class).getImageById(getEntity().getId(), null, null, null)).withSelfRel());
     }
 
     public Long getImageId() {
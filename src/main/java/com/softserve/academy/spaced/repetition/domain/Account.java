@@ -6,6 +6,7 @@ import com.softserve.academy.spaced.repetition.domain.enums.AccountStatus;
 import com.softserve.academy.spaced.repetition.domain.enums.AuthenticationType;
 import com.softserve.academy.spaced.repetition.domain.enums.LearningRegime;
 import com.softserve.academy.spaced.repetition.utils.validators.EmailNotExist;
+import org.hibernate.annotations.BatchSize;
 
 import javax.persistence.*;
 import javax.validation.constraints.NotNull;
@@ -57,6 +58,8 @@ public class Account implements EntityInterface {
     @NotNull
     private Date lastPasswordResetDate;
 
+    // owners listed with courses and decks get their authorities in one select instead of one per account
+    @BatchSize(size = 100)
     @ManyToMany(cascade = CascadeType.ALL, fetch = FetchType.EAGER)
     @JoinTable(name = "account_authority", joinColumns = {
             @JoinColumn(name = "account_id")},
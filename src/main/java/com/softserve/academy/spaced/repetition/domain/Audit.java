@@ -7,11 +7,15 @@ import javax.persistence.*;
 import java.util.Date;
 
 @Entity
-@Table(name = "audit")
+@Table(name = "audit", indexes = {
+        @Index(name = "audit_account_email_idx", columnList = "accountEmail, audit_id"),
+        @Index(name = "audit_action_idx", columnList = "action, audit_id"),
+        @Index(name = "audit_ip_address_idx", columnList = "ip_address, audit_id"),
+        @Index(name = "audit_time_idx", columnList = "time, audit_id")})
 public class Audit implements EntityInterface {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
     @Column(name = "audit_id")
     private long id;
 
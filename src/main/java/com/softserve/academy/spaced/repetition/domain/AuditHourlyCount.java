@@ -0,0 +1,65 @@
+package com.softserve.academy.spaced.repetition.domain;
+
+import com.softserve.academy.spaced.repetition.controller.utils.dto.EntityInterface;
+import com.softserve.academy.spaced.repetition.utils.audit.AuditingAction;
+
+import javax.persistence.*;
+import java.util.Date;
+
+@Entity
+@Table(name = "audit_hourly_count", uniqueConstraints = @UniqueConstraint(
+        name = "audit_hourly_count_hour_action_uk", columnNames = {"hour_start", "action"}))
+public class AuditHourlyCount implements EntityInterface {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "audit_hourly_count_id")
+    private Long id;
+
+    @Column(name = "hour_start", nullable = false)
+    @Temporal(TemporalType.TIMESTAMP)
+    private Date hourStart;
+
+    @Column(name = "action", nullable = false)
+    @Enumerated(EnumType.STRING)
+    private AuditingAction action;
+
+    @Column(name = "event_count", nullable = false)
+    private long eventCount;
+
+    public AuditHourlyCount() {
+    }
+
+    @Override
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Date getHourStart() {
+        return hourStart;
+    }
+
+    public void setHourStart(Date hourStart) {
+        this.hourStart = hourStart;
+    }
+
+    public AuditingAction getAction() {
+        return action;
+    }
+
+    public void setAction(AuditingAction action) {
+        this.action = action;
+    }
+
+    public long getEventCount() {
+        return eventCount;
+    }
+
+    public void setEventCount(long eventCount) {
+        this.eventCount = eventCount;
+    }
+}
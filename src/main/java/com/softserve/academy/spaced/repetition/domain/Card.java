@@ -3,11 +3,16 @@ package com.softserve.academy.spaced.repetition.domain;
 import com.softserve.academy.spaced.repetition.controller.utils.dto.EntityInterface;
 
 import javax.persistence.*;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.List;
+import java.util.Locale;
 
 @Entity
-@Table(name = "Card")
+@Table(name = "Card", indexes = @Index(name = "card_question_hash_idx", columnList = "question_hash"))
 public class Card implements EntityInterface {
+    private static final String QUESTION_HASH_ALGORITHM = "SHA-256";
 
     @Id
     @GeneratedValue(strategy = GenerationType.AUTO)
@@ -23,9 +28,18 @@ public class Card implements EntityInterface {
     @Column(name = "answer", nullable = false, columnDefinition = "LONGTEXT")
     private String answer;
 
+    @Column(name = "question_hash", length = 64)
+    private String questionHash;
+
     @Column(name = "rating")
     private double rating;
 
+    @Column(name = "rating_sum", nullable = false, columnDefinition = "BIGINT DEFAULT 0")
+    private long ratingSum;
+
+    @Column(name = "rating_count", nullable = false, columnDefinition = "INTEGER DEFAULT 0")
+    private int ratingCount;
+
     @ManyToOne
     @JoinColumn(name = "deck_id")
     private Deck deck;
@@ -65,6 +79,10 @@ public class Card implements EntityInterface {
         this.question = question;
     }
 
+    public String getQuestionHash() {
+        return questionHash;
+    }
+
     public String getAnswer() {
         return answer;
     }
@@ -81,6 +99,14 @@ public class Card implements EntityInterface {
         this.rating = rating;
     }
 
+    public long getRatingSum() {
+        return ratingSum;
+    }
+
+    public int getRatingCount() {
+        return ratingCount;
+    }
+
     public List<CardRating> getCardRatings() {
         return cardRatings;
     }
@@ -105,6 +131,30 @@ public class Card implements EntityInterface {
         this.title = title;
     }
 
+    @PrePersist
+    @PreUpdate
+    private void updateQuestionHash() {
+        questionHash = question != null ? hashQuestion(question) : null;
+    }
+
+    /**
+     * SHA-256 of the question with surrounding whitespace removed and in lower case, so questions that differ
+     * only in case or padding are treated as duplicates. Stored hashes are only ever computed here, SQL TRIM and
+     * LOWER do not normalize the same way.
+     */
+    public static String hashQuestion(String question) {
+        try {
+            byte[] normalized = question.trim().toLowerCase(Locale.ROOT).getBytes(StandardCharsets.UTF_8);
+            StringBuilder hash = new StringBuilder();
+            for (byte b : MessageDigest.getInstance(QUESTION_HASH_ALGORITHM).digest(normalized)) {
+                hash.append(String.format("%02x", b));
+            }
+            return hash.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
@@ -0,0 +1,127 @@
+package com.softserve.academy.spaced.repetition.domain;
+
+import com.softserve.academy.spaced.repetition.controller.utils.dto.EntityInterface;
+import com.softserve.academy.spaced.repetition.domain.enums.CardImportJobStatus;
+
+import javax.persistence.*;
+import java.util.Date;
+
+@Entity
+@Table(name = "card_import_job")
+public class CardImportJob implements EntityInterface {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "card_import_job_id")
+    private Long id;
+
+    @Column(name = "deck_id", nullable = false)
+    private Long deckId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "file_path", nullable = false)
+    private String filePath;
+
+    @Column(name = "status", nullable = false)
+    @Enumerated(EnumType.STRING)
+    private CardImportJobStatus status;
+
+    @Column(name = "total_cards")
+    private Integer totalCards;
+
+    @Column(name = "processed_cards", nullable = false)
+    private int processedCards;
+
+    @Column(name = "error")
+    private String error;
+
+    @Column(name = "created", nullable = false)
+    @Temporal(TemporalType.TIMESTAMP)
+    private Date created;
+
+    public CardImportJob() {
+    }
+
+    public CardImportJob(Long deckId, Long userId, String filePath) {
+        this.deckId = deckId;
+        this.userId = userId;
+        this.filePath = filePath;
+        this.status = CardImportJobStatus.QUEUED;
+        this.created = new Date();
+    }
+
+    @Override
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getDeckId() {
+        return deckId;
+    }
+
+    public void setDeckId(Long deckId) {
+        this.deckId = deckId;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public String getFilePath() {
+        return filePath;
+    }
+
+    public void setFilePath(String filePath) {
+        this.filePath = filePath;
+    }
+
+    public CardImportJobStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(CardImportJobStatus status) {
+        this.status = status;
+    }
+
+    public Integer getTotalCards() {
+        return totalCards;
+    }
+
+    public void setTotalCards(Integer totalCards) {
+        this.totalCards = totalCards;
+    }
+
+    public int getProcessedCards() {
+        return processedCards;
+    }
+
+    public void setProcessedCards(int processedCards) {
+        this.processedCards = processedCards;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    public Date getCreated() {
+        return created;
+    }
+
+    public void setCreated(Date created) {
+        this.created = created;
+    }
+}
@@ -28,6 +28,12 @@ public class Course implements EntityInterface {
     @Column(name = "rating")
     private double rating;
 
+    @Column(name = "rating_sum", nullable = false, columnDefinition = "BIGINT DEFAULT 0")
+    private long ratingSum;
+
+    @Column(name = "rating_count", nullable = false, columnDefinition = "INTEGER DEFAULT 0")
+    private int ratingCount;
+
     @Column(name = "published")
     private boolean published;
 
@@ -128,6 +134,14 @@ public class Course implements EntityInterface {
         this.rating = rating;
     }
 
+    public long getRatingSum() {
+        return ratingSum;
+    }
+
+    public int getRatingCount() {
+        return ratingCount;
+    }
+
     public List<CourseRating> getCourseRatings() {
         return courseRatings;
     }
@@ -31,6 +31,12 @@ public class Deck implements EntityInterface {
     @Column(name = "rating")
     private double rating;
 
+    @Column(name = "rating_sum", nullable = false, columnDefinition = "BIGINT DEFAULT 0")
+    private long ratingSum;
+
+    @Column(name = "rating_count", nullable = false, columnDefinition = "INTEGER DEFAULT 0")
+    private int ratingCount;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id")
     private User deckOwner;
@@ -115,6 +121,14 @@ public class Deck implements EntityInterface {
         this.rating = rating;
     }
 
+    public long getRatingSum() {
+        return ratingSum;
+    }
+
+    public int getRatingCount() {
+        return ratingCount;
+    }
+
     public List<DeckRating> getDeckRatings() {
         return deckRatings;
     }
@@ -5,7 +5,7 @@ import com.softserve.academy.spaced.repetition.controller.utils.dto.EntityInterf
 import javax.persistence.*;
 
 @Entity
-@Table(name = "image")
+@Table(name = "image", indexes = @Index(name = "image_content_hash_idx", columnList = "content_hash"))
 public class Image implements EntityInterface {
 
     @Id
@@ -16,6 +16,9 @@ public class Image implements EntityInterface {
     @Column(name = "imagebase64", columnDefinition = "LONGTEXT")
     private String imagebase64;
 
+    @Column(name = "content_hash", length = 64)
+    private String contentHash;
+
     @Column(name = "type", nullable = false)
     private String type;
 
@@ -80,6 +83,14 @@ public class Image implements EntityInterface {
         this.imagebase64 = imagebase64;
     }
 
+    public String getContentHash() {
+        return contentHash;
+    }
+
+    public void setContentHash(String contentHash) {
+        this.contentHash = contentHash;
+    }
+
     public String getType() {
         return type;
     }
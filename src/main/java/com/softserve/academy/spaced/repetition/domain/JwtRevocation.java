@@ -0,0 +1,38 @@
+package com.softserve.academy.spaced.repetition.domain;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+/**
+ * Time of the last change of an account which invalidates the principal claims of its earlier tokens. Shared by
+ * all nodes through the database; rows older than the token lifetime are removed by {@code JwtRevocationCache}.
+ */
+@Entity
+@Table(name = "jwt_revocation")
+public class JwtRevocation {
+
+    @Id
+    @Column(name = "email")
+    private String email;
+
+    @Column(name = "revoked_at", nullable = false)
+    private long revokedAt;
+
+    public String getEmail() {
+        return email;
+    }
+
+    public void setEmail(String email) {
+        this.email = email;
+    }
+
+    public long getRevokedAt() {
+        return revokedAt;
+    }
+
+    public void setRevokedAt(long revokedAt) {
+        this.revokedAt = revokedAt;
+    }
+}
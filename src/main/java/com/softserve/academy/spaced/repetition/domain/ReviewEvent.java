@@ -0,0 +1,107 @@
+package com.softserve.academy.spaced.repetition.domain;
+
+import com.softserve.academy.spaced.repetition.domain.enums.UserCardQueueStatus;
+
+import javax.persistence.*;
+import java.io.Serializable;
+import java.util.Date;
+import java.util.Objects;
+
+/**
+ * Answer of a card recorded by a client, possibly while it was offline. Events are only appended; their id is
+ * generated by the client, unique per user, and makes uploading the same event again a no-op until the event
+ * is compacted.
+ */
+@Entity
+@IdClass(ReviewEvent.Key.class)
+@Table(name = "review_event", indexes = {
+        @Index(name = "review_event_received_at_idx", columnList = "received_at")})
+public class ReviewEvent {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Id
+    @Column(name = "event_id", length = 64)
+    private String eventId;
+
+    @Column(name = "deck_id", nullable = false)
+    private Long deckId;
+
+    @Column(name = "card_id", nullable = false)
+    private Long cardId;
+
+    @Column(name = "status", nullable = false)
+    @Enumerated(EnumType.STRING)
+    private UserCardQueueStatus status;
+
+    @Column(name = "answered_at", nullable = false)
+    @Temporal(TemporalType.TIMESTAMP)
+    private Date answeredAt;
+
+    @Column(name = "received_at", nullable = false)
+    @Temporal(TemporalType.TIMESTAMP)
+    private Date receivedAt;
+
+    public ReviewEvent() {
+    }
+
+    public String getEventId() {
+        return eventId;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public Long getDeckId() {
+        return deckId;
+    }
+
+    public Long getCardId() {
+        return cardId;
+    }
+
+    public UserCardQueueStatus getStatus() {
+        return status;
+    }
+
+    public Date getAnsweredAt() {
+        return answeredAt;
+    }
+
+    public Date getReceivedAt() {
+        return receivedAt;
+    }
+
+    public static class Key implements Serializable {
+        private Long userId;
+        private String eventId;
+
+        public Key() {
+        }
+
+        public Key(Long userId, String eventId) {
+            this.userId = userId;
+            this.eventId = eventId;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            Key key = (Key) o;
+            return Objects.equals(userId, key.userId) && Objects.equals(eventId, key.eventId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(userId, eventId);
+        }
+    }
+}
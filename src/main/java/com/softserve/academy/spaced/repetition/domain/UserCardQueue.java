@@ -8,7 +8,9 @@ import javax.validation.constraints.NotNull;
 import java.util.Date;
 
 @Entity
-@Table(name = "user_card_queue")
+@Table(name = "user_card_queue", indexes = {
+        @Index(name = "user_card_queue_user_deck_card_idx", columnList = "user_id, deck_id, card_id"),
+        @Index(name = "user_card_queue_user_deck_date_to_repeat_idx", columnList = "user_id, deck_id, date_to_repeat")})
 public class UserCardQueue implements EntityInterface {
 
     @Id
@@ -41,6 +43,9 @@ public class UserCardQueue implements EntityInterface {
     @JoinColumn(name = "remembering_level_id")
     private RememberingLevel rememberingLevel;
 
+    @Column(name = "scheduler_state", nullable = false, columnDefinition = "BIGINT DEFAULT 0")
+    private long schedulerState;
+
     public UserCardQueue() {
 
     }
@@ -127,4 +132,12 @@ public class UserCardQueue implements EntityInterface {
     public void setRememberingLevel(RememberingLevel rememberingLevel) {
         this.rememberingLevel = rememberingLevel;
     }
+
+    public long getSchedulerState() {
+        return schedulerState;
+    }
+
+    public void setSchedulerState(long schedulerState) {
+        this.schedulerState = schedulerState;
+    }
 }
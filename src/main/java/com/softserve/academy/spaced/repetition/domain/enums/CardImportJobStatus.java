@@ -0,0 +1,8 @@
+package com.softserve.academy.spaced.repetition.domain.enums;
+
+public enum CardImportJobStatus {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED;
+}
@@ -2,7 +2,9 @@ package com.softserve.academy.spaced.repetition.domain.enums;
 
 public enum LearningRegime {
     BAD_NORMAL_GOOD_STATUS_DEPENDING("BAD_NORMAL_GOOD_STATUS_DEPENDING"),
-    CARDS_POSTPONING_USING_SPACED_REPETITION("CARDS_POSTPONING_USING_SPACED_REPETITION");
+    CARDS_POSTPONING_USING_SPACED_REPETITION("CARDS_POSTPONING_USING_SPACED_REPETITION"),
+    SM2_SPACED_REPETITION("SM2_SPACED_REPETITION"),
+    FSRS_SPACED_REPETITION("FSRS_SPACED_REPETITION");
 
     private String regime;
 
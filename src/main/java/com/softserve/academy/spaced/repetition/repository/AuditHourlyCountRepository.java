@@ -0,0 +1,12 @@
+package com.softserve.academy.spaced.repetition.repository;
+
+import com.softserve.academy.spaced.repetition.domain.AuditHourlyCount;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Date;
+import java.util.List;
+
+public interface AuditHourlyCountRepository extends JpaRepository<AuditHourlyCount, Long> {
+
+    List<AuditHourlyCount> findAllByHourStartGreaterThanEqualAndHourStartLessThanOrderByHourStart(Date from, Date to);
+}
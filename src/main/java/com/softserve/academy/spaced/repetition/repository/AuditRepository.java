@@ -1,30 +1,24 @@
 package com.softserve.academy.spaced.repetition.repository;
 
 import com.softserve.academy.spaced.repetition.domain.Audit;
+import com.softserve.academy.spaced.repetition.utils.audit.AuditingAction;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Date;
 import java.util.List;
 
 public interface AuditRepository extends JpaRepository<Audit, Long> {
-    public List<Audit> findAll();
 
-    public List<Audit> findAllByOrderByAccountEmail();
-
-    public List<Audit> findAllByOrderByAccountEmailDesc();
-
-    public List<Audit> findAllByOrderByAction();
-
-    public List<Audit> findAllByOrderByActionDesc();
-
-    public List<Audit> findAllByOrderByIpAddress();
-
-    public List<Audit> findAllByOrderByIpAddressDesc();
-
-    public List<Audit> findAllByOrderByTime();
-
-    public List<Audit> findAllByOrderByTimeDesc();
-
-    public List<Audit> findAllByOrderByRole();
-
-    public List<Audit> findAllByOrderByRoleDesc();
+    @Query("SELECT a FROM Audit a WHERE (:beforeId IS NULL OR a.id < :beforeId) " +
+            "AND (:accountEmail IS NULL OR a.accountEmail = :accountEmail) " +
+            "AND (:action IS NULL OR a.action = :action) " +
+            "AND (:ipAddress IS NULL OR a.ipAddress = :ipAddress) " +
+            "AND (:from IS NULL OR a.time >= :from) AND (:to IS NULL OR a.time < :to) " +
+            "ORDER BY a.id DESC")
+    List<Audit> findAuditBefore(@Param("beforeId") Long beforeId, @Param("accountEmail") String accountEmail,
+                                @Param("action") AuditingAction action, @Param("ipAddress") String ipAddress,
+                                @Param("from") Date from, @Param("to") Date to, Pageable pageable);
 }
@@ -0,0 +1,15 @@
+package com.softserve.academy.spaced.repetition.repository;
+
+import com.softserve.academy.spaced.repetition.domain.CardImportJob;
+import com.softserve.academy.spaced.repetition.domain.enums.CardImportJobStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface CardImportJobRepository extends JpaRepository<CardImportJob, Long> {
+
+    CardImportJob findByIdAndUserId(Long id, Long userId);
+
+    List<CardImportJob> findAllByStatusInOrderById(Collection<CardImportJobStatus> statuses);
+}
@@ -6,6 +6,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.Date;
 import java.util.List;
 
@@ -18,19 +19,12 @@ public interface CardRepository extends JpaRepository<Card, Long> {
     @Query(value = "SELECT c FROM Deck d INNER JOIN d.cards AS c WHERE d.id = :deck_id and c.id = :card_id")
     List<Card> hasAccessToCard(@Param("deck_id") Long deckId, @Param("card_id") Long cardId);
 
-    @Query(value =
-            "select c.card_id, c.title, c.question, c.answer, c.rating " +
-            "from card c " +
-            "where c.deck_id = :deckId and (c.card_id, c.title, c.question, c.answer, c.rating) not in(" +
-            "select c.card_id, c.title, c.question, c.answer, c.rating " +
-            "from card c left join user_card_queue u " +
-            "on c.card_id=u.card_id " +
-            "where u.user_id = :userId) limit :limitNumber", nativeQuery = true)
-    List<Card> cardsForLearningWithOutStatus(@Param("userId") Long userId, @Param("deckId") Long deckId,
-                                             @Param("limitNumber") int limitNumber);
+    @Query(value = "SELECT COUNT(c) FROM Card c WHERE c.deck.id = :deck_id AND c.id IN :card_ids")
+    long countCardsOfDeck(@Param("deck_id") Long deckId, @Param("card_ids") Collection<Long> cardIds);
 
     @Query(value =
-            "select c.card_id, c.title, c.question, c.answer, c.rating " +
+            "select c.card_id, c.title, c.question, c.answer, c.question_hash, c.rating, c.rating_sum, " +
+            "c.rating_count " +
             "from card c inner join user_card_queue u on c.card_id=u.card_id " +
             "where u.deck_id = :deckId and u.user_id = :userId " +
             "order by case u.status " +
@@ -41,26 +35,22 @@ public interface CardRepository extends JpaRepository<Card, Long> {
     List<Card> cardsQueueForLearningWithStatus(@Param("userId") Long userId, @Param("deckId") Long deckId,
                                                @Param("limitNumber") int limitNumber);
 
-    List <Card> findAllByQuestion(String question);
+    @Query(value = "SELECT c.questionHash FROM Card c WHERE c.questionHash IN :questionHashes")
+    List<String> findExistingQuestionHashes(@Param("questionHashes") Collection<String> questionHashes);
 
     void deleteCardById(Long cardId);
 
-    @Query(value = "SELECT * FROM card WHERE deck_id = :deckId AND card_id NOT IN " +
-            "(SELECT card_id FROM user_card_queue WHERE deck_id=:deckId AND user_id = :userId) limit :limit",
+    @Query(value = "SELECT c.* FROM card c WHERE c.deck_id = :deckId AND NOT EXISTS " +
+            "(SELECT 1 FROM user_card_queue u WHERE u.user_id = :userId AND u.deck_id = :deckId " +
+            "AND u.card_id = c.card_id) limit :limit",
             nativeQuery = true)
     List<Card> getNewCards(@Param("deckId") Long deckId, @Param("userId") Long userId, @Param("limit") int limit);
 
 
-    @Query(value = "SELECT c.* FROM card c INNER JOIN user_card_queue u on c.card_id = u.card_id WHERE c.deck_id = " +
-            ":deckId AND u.user_id = :userId AND date_to_repeat <= :now limit :limit",
-            nativeQuery = true)
-    List<Card> getCardsThatNeedRepeating(@Param("deckId") Long deckId, @Param("now") Date now,
-                                         @Param("userId") Long userId, @Param("limit") int limit);
-
     List<Card> findAllByDeckId(Long deckId);
 
     @Query(value = "SELECT c.* FROM card c INNER JOIN user_card_queue u on c.card_id = u.card_id WHERE c.deck_id = " +
-            ":deckId AND u.user_id = :userId AND date_to_repeat > :now limit :limit",
+            ":deckId AND u.user_id = :userId AND u.deck_id = :deckId AND date_to_repeat > :now limit :limit",
             nativeQuery = true)
     List<Card> getPostponedCards(@Param("deckId") Long deckId, @Param("now") Date now,
                                  @Param("userId") Long userId, @Param("limit") int limit);
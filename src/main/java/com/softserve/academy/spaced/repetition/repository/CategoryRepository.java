@@ -4,6 +4,9 @@ import com.softserve.academy.spaced.repetition.domain.Category;
 
 import java.util.List;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -14,8 +17,17 @@ public interface CategoryRepository extends JpaRepository<Category, Long> {
 
     Category findById(Long id);
 
+    @EntityGraph(attributePaths = "image")
     List<Category> findTop8ByOrderById();
 
+    @EntityGraph(attributePaths = "image")
+    @Override
+    List<Category> findAll();
+
+    @EntityGraph(attributePaths = "image")
+    @Override
+    Page<Category> findAll(Pageable pageable);
+
     @Query(value = "SELECT c.name, c.description, c.image FROM Category c WHERE c.id = :category_id")
     List<Category> hasAccessToCategory(@Param("category_id") Long category_id);
 }
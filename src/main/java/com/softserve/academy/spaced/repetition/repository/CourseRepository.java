@@ -4,6 +4,7 @@ import com.softserve.academy.spaced.repetition.domain.Category;
 import com.softserve.academy.spaced.repetition.domain.Course;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -14,22 +15,28 @@ import java.util.List;
 @Repository
 public interface CourseRepository extends JpaRepository<Course, Long> {
 
+    @EntityGraph(attributePaths = {"category", "image", "owner", "owner.account", "owner.person", "owner.folder"})
     List<Course> getAllCoursesByCategoryIdAndPublishedTrue(Long id);
 
     Course getCourseByCategoryIdAndId(Long categoryId, Long courseId);
 
-    List<Course> findTop4ByOrderByRating();
-
     @Query(value = "SELECT c FROM Course c WHERE c.category.id = :category_id AND c.id = :course_id")
     List<Course> getAccessToCourse(@Param("category_id") Long categoryId, @Param("course_id") Long courseId);
 
     @Query(value = "SELECT c FROM Course c where c.category.id = :category_id")
     List<Course> getAccessToCourse(@Param("category_id") Long categoryId);
 
-    List<Course> findAllByPublishedTrueOrderByRatingDesc();
-
+    @EntityGraph(attributePaths = {"category", "image", "owner", "owner.account", "owner.person", "owner.folder"})
     List<Course> findAllByPublishedTrue();
 
+    @EntityGraph(attributePaths = {"category", "image", "owner", "owner.account", "owner.person", "owner.folder"})
     Page<Course> findAllByCategoryEquals(Category category, Pageable pageable);
 
+    @EntityGraph(attributePaths = {"category", "image", "owner", "owner.account", "owner.person", "owner.folder"})
+    @Override
+    Page<Course> findAll(Pageable pageable);
+
+    @EntityGraph(attributePaths = {"category", "image", "owner", "owner.account", "owner.person", "owner.folder"})
+    @Override
+    List<Course> findAll(Iterable<Long> ids);
 }
@@ -3,6 +3,7 @@ package com.softserve.academy.spaced.repetition.repository;
 import com.softserve.academy.spaced.repetition.domain.*;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -21,8 +22,6 @@ public interface DeckRepository extends JpaRepository<Deck, Long> {
 
     List<Deck> findTop4ByOrderById();
 
-    List<Deck> findAllByOrderByRatingDesc();
-
     void deleteDeckById(Long id);
 
     @Query(value = "SELECT d.id, d.name, d.description, d.rating, d.category, d.deckOwner FROM Course c " +
@@ -38,7 +37,14 @@ public interface DeckRepository extends JpaRepository<Deck, Long> {
     @Query(value = "SELECT d FROM Deck d INNER JOIN d.deckOwner u  WHERE d.id = :deck_id AND u.id = :user_id")
     Deck getDeckByItsIdAndOwnerOfDeck(@Param("deck_id") Long deckId, @Param("user_id") Long userId);
 
+    @EntityGraph(attributePaths = {"category", "deckOwner", "deckOwner.account", "deckOwner.person",
+            "deckOwner.folder"})
     List<Deck> findAllByDeckOwnerIdEquals(Long userId);
 
     Page<Deck> findAllByCategoryEquals(Category category, Pageable pageable);
+
+    @EntityGraph(attributePaths = {"category", "deckOwner", "deckOwner.account", "deckOwner.person",
+            "deckOwner.folder"})
+    @Override
+    Page<Deck> findAll(Pageable pageable);
 }
@@ -12,8 +12,10 @@ public interface ImageRepository extends JpaRepository<Image, Long> {
 
     public Image findImageById(Long id);
 
-    @Query("SELECT id FROM Image")
-    public List<Long> getIdList();
+    @Query("SELECT i.id FROM Image i WHERE i.contentHash IS NULL AND i.imagebase64 IS NOT NULL")
+    public List<Long> getIdsOfImagesStoredAsBase64();
+
+    public Long countByContentHash(String contentHash);
 
     @Query("SELECT i.id FROM Image i")
     public List<Image> getImagesWithoutContent();
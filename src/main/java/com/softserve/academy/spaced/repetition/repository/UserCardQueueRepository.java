@@ -2,13 +2,29 @@ package com.softserve.academy.spaced.repetition.repository;
 
 import com.softserve.academy.spaced.repetition.domain.UserCardQueue;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Date;
+import java.util.List;
 
 @Repository
 public interface UserCardQueueRepository extends JpaRepository<UserCardQueue, Long> {
     UserCardQueue findUserCardQueueByUserIdAndCardId(Long userId, Long cardId);
 
     long countAllByUserIdEqualsAndDeckIdEqualsAndDateToRepeatBefore(Long userId, Long deckId, Date now);
+
+    @Query("SELECT u.cardId, u.dateToRepeat FROM UserCardQueue u WHERE u.userId = :userId AND u.deckId = :deckId " +
+            "AND u.dateToRepeat IS NOT NULL")
+    List<Object[]> findCardDatesToRepeatByUserIdAndDeckId(@Param("userId") Long userId, @Param("deckId") Long deckId);
+
+    @Query("SELECT u.deckId, COUNT(u) FROM UserCardQueue u WHERE u.userId = :userId AND u.dateToRepeat < :date " +
+            "GROUP BY u.deckId")
+    List<Object[]> countCardsToRepeatByDeckId(@Param("userId") Long userId, @Param("date") Date date);
+
+    @Modifying
+    @Query("UPDATE UserCardQueue u SET u.schedulerState = 0 WHERE u.userId = :userId")
+    int resetSchedulerStates(@Param("userId") Long userId);
 }
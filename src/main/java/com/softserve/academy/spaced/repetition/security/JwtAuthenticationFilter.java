@@ -24,9 +24,15 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     @Autowired
     JwtTokenUtil jwtTokenUtil;
 
+    @Autowired
+    JwtRevocationCache jwtRevocationCache;
+
     @Value("${app.jwt.header}")
     private String tokenHeader;
 
+    @Value("${app.jwt.statelessPrincipal:false}")
+    private boolean statelessPrincipal;
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
             throws ServletException, IOException {
@@ -39,12 +45,13 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                 }
             }
         }
-        String username = jwtTokenUtil.getUsernameFromToken(authToken);
-        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+        JwtToken token = jwtTokenUtil.parseToken(authToken);
+        if (token != null && token.getUsername() != null
+                && SecurityContextHolder.getContext().getAuthentication() == null) {
 
-            UserDetails userDetails = this.userDetailsService.loadUserByUsername(username);
+            UserDetails userDetails = getUserDetails(token);
 
-            if (jwtTokenUtil.validateToken(authToken, userDetails)) {
+            if (userDetails != null) {
                 UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
                 authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                 SecurityContextHolder.getContext().setAuthentication(authentication);
@@ -52,4 +59,13 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
         chain.doFilter(request, response);
     }
+
+    private UserDetails getUserDetails(JwtToken token) {
+        if (statelessPrincipal && token.hasPrincipalClaims() && !token.isExpired()
+                && !jwtRevocationCache.isRevoked(token.getUsername(), token.getCreated())) {
+            return JwtUserFactory.create(token);
+        }
+        UserDetails userDetails = this.userDetailsService.loadUserByUsername(token.getUsername());
+        return jwtTokenUtil.validateToken(token, userDetails) ? userDetails : null;
+    }
 }
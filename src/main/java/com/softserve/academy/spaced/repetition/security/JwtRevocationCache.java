@@ -0,0 +1,89 @@
+package com.softserve.academy.spaced.repetition.security;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Date;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remembers accounts whose password, status or activity changed recently. Tokens of such accounts that were
+ * issued before the change can no longer be trusted by their claims alone and are checked against the database.
+ * Revocations are stored in the jwt_revocation table and every node reloads them periodically, so they survive
+ * restarts and reach the other nodes within the refresh interval. Until the first load every token is treated
+ * as revoked. An entry is kept only as long as a token issued before it could still be valid.
+ */
+@Component
+public class JwtRevocationCache {
+    private static final int MILLISECONDS_TO_SECONDS = 1000;
+    // the created claim of a new token is set a few seconds ahead, see JwtTokenUtil.generateToken
+    private static final int CREATED_DATE_OFFSET = 5000;
+    private static final String UPDATE_REVOCATION = "UPDATE jwt_revocation SET revoked_at = ? WHERE email = ?";
+    private static final String INSERT_REVOCATION = "INSERT INTO jwt_revocation (email, revoked_at) VALUES (?, ?)";
+    private static final String SELECT_REVOCATIONS =
+            "SELECT email, revoked_at FROM jwt_revocation WHERE revoked_at >= ?";
+    private static final String DELETE_OUTDATED_REVOCATIONS = "DELETE FROM jwt_revocation WHERE revoked_at < ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Map<String, Long> revocations = new ConcurrentHashMap<>();
+    private volatile boolean loaded;
+
+    @Value("${app.jwt.expiration}")
+    private Long expiration;
+
+    @Autowired
+    public JwtRevocationCache(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void revoke(String email) {
+        long now = System.currentTimeMillis();
+        revocations.merge(email, now, Math::max);
+        if (jdbcTemplate.update(UPDATE_REVOCATION, now, email) == 0) {
+            try {
+                jdbcTemplate.update(INSERT_REVOCATION, email, now);
+            } catch (DuplicateKeyException e) {
+                jdbcTemplate.update(UPDATE_REVOCATION, now, email);
+            }
+        }
+    }
+
+    public boolean isRevoked(String email, Date tokenCreated) {
+        if (!loaded) {
+            return true;
+        }
+        Long revocationTime = revocations.get(email);
+        return revocationTime != null && (tokenCreated == null
+                || tokenCreated.getTime() - CREATED_DATE_OFFSET <= revocationTime);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${app.jwt.revocationRefreshInterval:5000}",
+            fixedDelayString = "${app.jwt.revocationRefreshInterval:5000}")
+    public void refresh() {
+        long oldestValidRevocation = System.currentTimeMillis() - expiration * MILLISECONDS_TO_SECONDS;
+        jdbcTemplate.update(DELETE_OUTDATED_REVOCATIONS, oldestValidRevocation);
+        jdbcTemplate.query(SELECT_REVOCATIONS, (RowCallbackHandler) resultSet ->
+                revocations.merge(resultSet.getString(1), resultSet.getLong(2), Math::max), oldestValidRevocation);
+        removeOutdated(oldestValidRevocation);
+        loaded = true;
+    }
+
+    private void removeOutdated(long oldestValidRevocation) {
+        Iterator<Map.Entry<String, Long>> iterator = revocations.entrySet().iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next().getValue() < oldestValidRevocation) {
+                iterator.remove();
+            }
+        }
+    }
+}
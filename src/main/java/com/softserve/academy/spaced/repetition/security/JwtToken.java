@@ -0,0 +1,91 @@
+package com.softserve.academy.spaced.repetition.security;
+
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable, verified content of an authentication token. Built once per parse, so the signature is checked
+ * only once no matter how many claims are read afterwards.
+ */
+public final class JwtToken {
+    private final String token;
+    private final Map<String, Object> claims;
+    private final Long userId;
+    private final String username;
+    private final String audience;
+    private final Date created;
+    private final Date expiration;
+    private final List<String> authorities;
+    private final Date lastPasswordResetDate;
+    private final Boolean deactivated;
+
+    public JwtToken(String token, Map<String, Object> claims, Long userId, String username, String audience,
+                    Date created, Date expiration, List<String> authorities, Date lastPasswordResetDate,
+                    Boolean deactivated) {
+        this.token = token;
+        this.claims = Collections.unmodifiableMap(new HashMap<>(claims));
+        this.userId = userId;
+        this.username = username;
+        this.audience = audience;
+        this.created = created;
+        this.expiration = expiration;
+        this.authorities = authorities != null ? Collections.unmodifiableList(authorities) : null;
+        this.lastPasswordResetDate = lastPasswordResetDate;
+        this.deactivated = deactivated;
+    }
+
+    public String getToken() {
+        return token;
+    }
+
+    public Map<String, Object> getClaims() {
+        return claims;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public String getAudience() {
+        return audience;
+    }
+
+    public Date getCreated() {
+        return created != null ? new Date(created.getTime()) : null;
+    }
+
+    public Date getExpiration() {
+        return expiration != null ? new Date(expiration.getTime()) : null;
+    }
+
+    public List<String> getAuthorities() {
+        return authorities;
+    }
+
+    public Date getLastPasswordResetDate() {
+        return lastPasswordResetDate != null ? new Date(lastPasswordResetDate.getTime()) : null;
+    }
+
+    public boolean isDeactivated() {
+        return Boolean.TRUE.equals(deactivated);
+    }
+
+    public boolean isExpired() {
+        return expiration.before(new Date());
+    }
+
+    /**
+     * Tokens issued before principal claims were added carry no authorities or deactivation flag and have
+     * to be checked against the database.
+     */
+    public boolean hasPrincipalClaims() {
+        return userId != null && authorities != null && deactivated != null;
+    }
+}
@@ -3,12 +3,17 @@ package com.softserve.academy.spaced.repetition.security;
 import io.jsonwebtoken.*;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.mobile.device.Device;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 
 @Component
 public class JwtTokenUtil {
@@ -16,6 +21,10 @@ public class JwtTokenUtil {
     private static final String CLAIM_KEY_USERNAME = "sub";
     private static final String CLAIM_KEY_AUDIENCE = "audience";
     private static final String CLAIM_KEY_CREATED = "created";
+    private static final String CLAIM_KEY_USER_ID = "userId";
+    private static final String CLAIM_KEY_AUTHORITIES = "authorities";
+    private static final String CLAIM_KEY_PASSWORD_RESET = "passwordReset";
+    private static final String CLAIM_KEY_DEACTIVATED = "deactivated";
 
     private static final String AUDIENCE_UNKNOWN = "unknown";
     private static final String AUDIENCE_WEB = "web";
@@ -31,6 +40,17 @@ public class JwtTokenUtil {
     @Value("${app.jwt.expiration}")
     private Long expiration;
 
+    @Value("${app.jwt.parsedTokenCacheSize:10000}")
+    private int parsedTokenCacheSize;
+
+    private final Map<String, JwtToken> parsedTokens = Collections.synchronizedMap(
+            new LinkedHashMap<String, JwtToken>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, JwtToken> eldest) {
+                    return size() > parsedTokenCacheSize || eldest.getValue().isExpired();
+                }
+            });
+
     public String getUsernameFromToken(String token) {
         String username;
         try {
@@ -56,6 +76,64 @@ public class JwtTokenUtil {
         return claims;
     }
 
+    /**
+     * Verifies the token and returns its claims. Tokens seen before are served from a bounded LRU cache keyed by
+     * their signature, so repeated requests with the same token skip the HMAC check.
+     *
+     * @param token - token from the request
+     * @return verified token or null if the token is missing, malformed, expired or has a wrong signature
+     */
+    public JwtToken parseToken(String token) {
+        if (token == null) {
+            return null;
+        }
+        String signature = token.substring(token.lastIndexOf('.') + 1);
+        JwtToken jwtToken = parsedTokens.get(signature);
+        if (jwtToken != null && jwtToken.getToken().equals(token)) {
+            if (!jwtToken.isExpired()) {
+                return jwtToken;
+            }
+            parsedTokens.remove(signature);
+            return null;
+        }
+        final Claims claims = getClaimsFromToken(token);
+        if (claims == null) {
+            return null;
+        }
+        jwtToken = createJwtToken(token, claims);
+        parsedTokens.put(signature, jwtToken);
+        return jwtToken;
+    }
+
+    private JwtToken createJwtToken(String token, Claims claims) {
+        return new JwtToken(
+                token,
+                claims,
+                getLongClaim(claims, CLAIM_KEY_USER_ID),
+                claims.getSubject(),
+                (String) claims.get(CLAIM_KEY_AUDIENCE),
+                getDateClaim(claims, CLAIM_KEY_CREATED),
+                claims.getExpiration(),
+                getAuthoritiesClaim(claims),
+                getDateClaim(claims, CLAIM_KEY_PASSWORD_RESET),
+                claims.get(CLAIM_KEY_DEACTIVATED, Boolean.class));
+    }
+
+    private Long getLongClaim(Claims claims, String key) {
+        Number value = claims.get(key, Number.class);
+        return value != null ? value.longValue() : null;
+    }
+
+    private Date getDateClaim(Claims claims, String key) {
+        Long value = getLongClaim(claims, key);
+        return value != null ? new Date(value) : null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<String> getAuthoritiesClaim(Claims claims) {
+        return (List<String>) claims.get(CLAIM_KEY_AUTHORITIES, List.class);
+    }
+
     public Date getCreatedDateFromToken(String token) {
         Date created;
         try {
@@ -78,17 +156,6 @@ public class JwtTokenUtil {
         return tokenExpiration;
     }
 
-    private String getAudienceFromToken(String token) {
-        String audience;
-        try {
-            final Claims claims = getClaimsFromToken(token);
-            audience = (String) claims.get(CLAIM_KEY_AUDIENCE);
-        } catch (NullPointerException e) {
-            audience = null;
-        }
-        return audience;
-    }
-
     private Date generateExpirationDate() {
         return new Date(System.currentTimeMillis() + expiration * MILLISECONDS_TO_SECONDS);
     }
@@ -114,19 +181,28 @@ public class JwtTokenUtil {
         return audience;
     }
 
-    private Boolean ignoreTokenExpiration(String token) {
-        String audience = getAudienceFromToken(token);
-        return (AUDIENCE_TABLET.equals(audience) || AUDIENCE_MOBILE.equals(audience));
-    }
-
     public String generateToken(UserDetails userDetails, Device device) {
         Map<String, Object> claims = new HashMap<>();
         claims.put(CLAIM_KEY_USERNAME, userDetails.getUsername());
         claims.put(CLAIM_KEY_AUDIENCE, generateAudience(device));
         claims.put(CLAIM_KEY_CREATED, new Date(System.currentTimeMillis() + FIVE_SECONDS));
+        if (userDetails instanceof JwtUser) {
+            addPrincipalClaims(claims, (JwtUser) userDetails);
+        }
         return generateToken(claims);
     }
 
+    private void addPrincipalClaims(Map<String, Object> claims, JwtUser user) {
+        claims.put(CLAIM_KEY_USER_ID, user.getId());
+        claims.put(CLAIM_KEY_AUTHORITIES, user.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .collect(Collectors.toList()));
+        if (user.getLastPasswordResetDate() != null) {
+            claims.put(CLAIM_KEY_PASSWORD_RESET, user.getLastPasswordResetDate().getTime());
+        }
+        claims.put(CLAIM_KEY_DEACTIVATED, !user.isAccountNonLocked());
+    }
+
     private String generateToken(Map<String, Object> claims) {
         return Jwts.builder()
                 .setClaims(claims)
@@ -135,31 +211,27 @@ public class JwtTokenUtil {
                 .compact();
     }
 
-    public Boolean canTokenBeRefreshed(String token, Date lastPasswordReset) {
-        final Date created = getCreatedDateFromToken(token);
-        return !isCreatedBeforeLastPasswordReset(created, lastPasswordReset)
-                && (!isTokenExpired(token) || ignoreTokenExpiration(token));
+    public Boolean canTokenBeRefreshed(JwtToken token, Date lastPasswordReset) {
+        return !isCreatedBeforeLastPasswordReset(token.getCreated(), lastPasswordReset)
+                && (!token.isExpired() || ignoreTokenExpiration(token));
     }
 
-    public String refreshToken(String token) {
-        String refreshedToken;
-        try {
-            final Claims claims = getClaimsFromToken(token);
-            claims.put(CLAIM_KEY_CREATED, new Date());
-            refreshedToken = generateToken(claims);
-        } catch (NullPointerException e) {
-            refreshedToken = null;
-        }
-        return refreshedToken;
+    private Boolean ignoreTokenExpiration(JwtToken token) {
+        String audience = token.getAudience();
+        return (AUDIENCE_TABLET.equals(audience) || AUDIENCE_MOBILE.equals(audience));
+    }
+
+    public String refreshToken(JwtToken token) {
+        Map<String, Object> claims = new HashMap<>(token.getClaims());
+        claims.put(CLAIM_KEY_CREATED, new Date());
+        return generateToken(claims);
     }
 
-    Boolean validateToken(String token, UserDetails userDetails) {
+    Boolean validateToken(JwtToken token, UserDetails userDetails) {
         JwtUser user = (JwtUser) userDetails;
-        final String username = getUsernameFromToken(token);
-        final Date created = getCreatedDateFromToken(token);
         return (
-                username.equals(user.getUsername())
-                        && !isTokenExpired(token)
-                        && !isCreatedBeforeLastPasswordReset(created, user.getLastPasswordResetDate()));
+                token.getUsername().equals(user.getUsername())
+                        && !token.isExpired()
+                        && !isCreatedBeforeLastPasswordReset(token.getCreated(), user.getLastPasswordResetDate()));
     }
 }
@@ -24,6 +24,19 @@ public final class JwtUserFactory {
         );
     }
 
+    public static JwtUser create(JwtToken token) {
+        return new JwtUser(
+                token.getUserId(),
+                token.getUsername(),
+                null,
+                token.getAuthorities().stream()
+                        .map(SimpleGrantedAuthority::new)
+                        .collect(Collectors.toList()),
+                token.getLastPasswordResetDate(),
+                token.isDeactivated()
+        );
+    }
+
     private static List<GrantedAuthority> mapToGrantedAuthorities(Set<Authority> authorities) {
         return authorities.stream()
                 .map(authority -> new SimpleGrantedAuthority(authority.getName().name()))
@@ -6,6 +6,7 @@ import com.softserve.academy.spaced.repetition.security.DTO.ReCaptchaResponseDto
 import com.softserve.academy.spaced.repetition.security.FacebookAuthUtil;
 import com.softserve.academy.spaced.repetition.security.GoogleAuthUtil;
 import com.softserve.academy.spaced.repetition.security.JwtTokenUtil;
+import com.softserve.academy.spaced.repetition.security.JwtToken;
 import com.softserve.academy.spaced.repetition.security.JwtUser;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
@@ -96,9 +97,11 @@ public class AuthenticationRestService {
     }
 
     public HttpHeaders getHeadersForRefreshToken(HttpServletRequest request) {
-        String token = getTokenFromRequest(request);
-        String username = jwtTokenUtil.getUsernameFromToken(token);
-        JwtUser user = (JwtUser) userDetailsService.loadUserByUsername(username);
+        JwtToken token = jwtTokenUtil.parseToken(getTokenFromRequest(request));
+        if (token == null) {
+            throw new BadCredentialsException(messageSource.getMessage("message.exception.notValidToken", new Object[]{}, locale));
+        }
+        JwtUser user = (JwtUser) userDetailsService.loadUserByUsername(token.getUsername());
         validateUser(user);
         if (jwtTokenUtil.canTokenBeRefreshed(token, user.getLastPasswordResetDate())) {
             String refreshedToken = jwtTokenUtil.refreshToken(token);
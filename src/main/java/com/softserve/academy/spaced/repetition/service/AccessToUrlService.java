@@ -2,6 +2,8 @@ package com.softserve.academy.spaced.repetition.service;
 
 import com.softserve.academy.spaced.repetition.utils.exceptions.NotAuthorisedUserException;
 
+import java.util.Collection;
+
 public interface AccessToUrlService {
     boolean hasAccessToCategory(Long category_id);
 
@@ -19,6 +21,8 @@ public interface AccessToUrlService {
 
     boolean hasAccessToCard(Long deck_id, Long card_id);
 
+    boolean hasAccessToCards(Long deck_id, Collection<Long> card_ids);
+
     boolean hasAccessToCard(Long category_id, Long deck_id, Long card_id);
 
     boolean hasAccessToCard(Long category_id, Long course_id, Long deck_id, Long card_id);
@@ -1,33 +1,20 @@
 package com.softserve.academy.spaced.repetition.service;
 
 import com.softserve.academy.spaced.repetition.domain.Audit;
+import com.softserve.academy.spaced.repetition.domain.AuditHourlyCount;
+import com.softserve.academy.spaced.repetition.utils.audit.AuditingAction;
 import org.springframework.data.domain.Page;
 
+import java.util.Date;
 import java.util.List;
 
 public interface AuditService {
-    List<Audit> getFullAuditList();
 
-    List<Audit> getAuditListSortedByAccountEmailAsc();
-
-    List<Audit> getAuditListSortedByAccountEmailDesc();
-
-    List<Audit> getAuditListSortedByActionAsc();
-
-    List<Audit> getAuditListSortedByActionAscDesc();
-
-    List<Audit> getAuditListSortedByIpAddressAsc();
-
-    List<Audit> getAuditListSortedByIpAddressDesc();
-
-    List<Audit> getAuditListSortedByTimeAsc();
-
-    List<Audit> getAuditListSortedByTimeDesc();
-
-    List<Audit> getAuditListSortedByRoleAsc();
+    Page<Audit> getAuditByPage(int pageNumber, String sortBy, boolean ascending);
 
-    List<Audit> getAuditListSortedByRoleDesc();
+    List<Audit> getAuditBefore(Long beforeId, String accountEmail, AuditingAction action, String ipAddress,
+                               Date from, Date to, int size);
 
-    Page<Audit> getAuditByPage(int pageNumber, String sortBy, boolean ascending);
+    List<AuditHourlyCount> getHourlyCounts(Date from, Date to);
 
 }
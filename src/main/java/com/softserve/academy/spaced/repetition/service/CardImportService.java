@@ -0,0 +1,18 @@
+package com.softserve.academy.spaced.repetition.service;
+
+import com.softserve.academy.spaced.repetition.domain.CardImportJob;
+import com.softserve.academy.spaced.repetition.utils.exceptions.EmptyFileException;
+import com.softserve.academy.spaced.repetition.utils.exceptions.NotAuthorisedUserException;
+import com.softserve.academy.spaced.repetition.utils.exceptions.NotOwnerOperationException;
+import com.softserve.academy.spaced.repetition.utils.exceptions.WrongFormatException;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+
+public interface CardImportService {
+
+    CardImportJob startImport(MultipartFile cardsFile, Long deckId) throws WrongFormatException, EmptyFileException,
+            NotOwnerOperationException, NotAuthorisedUserException, IOException;
+
+    CardImportJob getImportJob(Long jobId) throws NotAuthorisedUserException;
+}
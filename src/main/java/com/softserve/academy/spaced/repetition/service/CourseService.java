@@ -20,7 +20,7 @@ public interface CourseService {
 
     List<Course> getTopCourse();
 
-    List<Course> getAllOrderedCourses();
+    Page<Course> getOrderedCourses(int pageNumber);
 
     void updateCourse(Long course_id, Course course);
 
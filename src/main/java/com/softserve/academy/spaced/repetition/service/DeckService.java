@@ -44,7 +44,7 @@ public interface DeckService {
 
     List<Deck> getAllDecksByCategory(Long categoryId);
 
-    List<Deck> getAllOrderedDecks();
+    Page<Deck> getOrderedDecks(int pageNumber);
 
     List<Card> getAllCardsByDeckId(Long deckId);
 }
@@ -1,6 +1,7 @@
 package com.softserve.academy.spaced.repetition.service;
 
 import com.softserve.academy.spaced.repetition.domain.Image;
+import com.softserve.academy.spaced.repetition.service.storage.ImageContent;
 import com.softserve.academy.spaced.repetition.utils.exceptions.CanNotBeDeletedException;
 import com.softserve.academy.spaced.repetition.utils.exceptions.ImageRepositorySizeQuotaExceededException;
 import com.softserve.academy.spaced.repetition.utils.exceptions.NotAuthorisedUserException;
@@ -17,7 +18,11 @@ public interface ImageService {
     void checkImageExtention(MultipartFile file) throws ImageRepositorySizeQuotaExceededException,
             NotAuthorisedUserException;
 
-    byte[] getDecodedImageContentByImageId(Long id);
+    ImageContent getImageContent(Long id);
+
+    ImageContent getImageVariant(ImageContent source, Integer width, Integer height, String format);
+
+    void moveContentToImageStore(Long id);
 
     String encodeToBase64(MultipartFile file);
 
@@ -1,13 +1,41 @@
 package com.softserve.academy.spaced.repetition.service;
 
+import com.softserve.academy.spaced.repetition.controller.utils.dto.CardReviewDTO;
 import com.softserve.academy.spaced.repetition.domain.UserCardQueue;
 import com.softserve.academy.spaced.repetition.utils.exceptions.NotAuthorisedUserException;
 
+import java.util.List;
+import java.util.Map;
+
 public interface UserCardQueueService {
     void updateUserCardQueue(Long deckId, Long cardId, String status)
             throws NotAuthorisedUserException, IllegalArgumentException;
 
+    /**
+     * Applies the answers of a learning session to the queue of the authorized user in one transaction.
+     * Answers of the same card are applied in the order they were given; answers given before the last answer
+     * already applied to the card are skipped.
+     */
+    void updateUserCardQueues(Long deckId, List<CardReviewDTO> reviews)
+            throws NotAuthorisedUserException, IllegalArgumentException;
+
+    /**
+     * Appends the events of a review log recorded by a client to the stored log and applies the events which
+     * were not received before on top of the current queue, ordered by the time of the answer. Event ids are
+     * unique per user. Events answered before the last answer applied to their card are stored but not applied.
+     *
+     * @return number of the applied events
+     */
+    int syncReviewLog(Long deckId, List<CardReviewDTO> events)
+            throws NotAuthorisedUserException, IllegalArgumentException;
+
     UserCardQueue getUserCardQueueById(long id);
 
     long countCardsThatNeedRepeating(Long deckId) throws NotAuthorisedUserException;
+
+    /**
+     * Returns the numbers of cards the authorized user has to repeat until the end of the day by deck id.
+     * Decks without such cards are left out.
+     */
+    Map<Long, Long> countCardsThatNeedRepeatingToday() throws NotAuthorisedUserException;
 }
@@ -10,6 +10,8 @@ import com.softserve.academy.spaced.repetition.utils.exceptions.UserStatusExcept
 import com.softserve.academy.spaced.repetition.repository.AuthorityRepository;
 import com.softserve.academy.spaced.repetition.repository.DeckRepository;
 import com.softserve.academy.spaced.repetition.repository.UserRepository;
+import com.softserve.academy.spaced.repetition.security.JwtRevocationCache;
+import com.softserve.academy.spaced.repetition.service.cache.AuthorizedUserContext;
 import com.softserve.academy.spaced.repetition.service.impl.ImageServiceImpl;
 import org.springframework.data.domain.Page;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -32,6 +34,10 @@ public interface UserService {
 
     void setMailService(MailService mailService);
 
+    void setAuthorizedUserContext(AuthorizedUserContext authorizedUserContext);
+
+    void setJwtRevocationCache(JwtRevocationCache jwtRevocationCache);
+
     void addUser(User user);
 
     User findUserByEmail(String email);
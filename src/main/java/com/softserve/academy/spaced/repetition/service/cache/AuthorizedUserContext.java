@@ -0,0 +1,47 @@
+package com.softserve.academy.spaced.repetition.service.cache;
+
+import com.softserve.academy.spaced.repetition.domain.User;
+import com.softserve.academy.spaced.repetition.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.metrics.CounterService;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+/**
+ * Resolves the authorized user together with its account, remembering levels and folder once per request.
+ * Later lookups within the same request get the same (still managed) instance without touching the database.
+ * Outside of a web request every lookup goes to the database.
+ */
+@Component
+public class AuthorizedUserContext {
+    private static final String USER_ATTRIBUTE = AuthorizedUserContext.class.getName() + ".USER";
+    private static final String REQUESTED_COUNTER = "authorized-user.requested";
+    private static final String LOADED_COUNTER = "authorized-user.loaded";
+
+    private final UserRepository userRepository;
+    private final CounterService counterService;
+
+    @Autowired
+    public AuthorizedUserContext(UserRepository userRepository, CounterService counterService) {
+        this.userRepository = userRepository;
+        this.counterService = counterService;
+    }
+
+    public User getUser(String email) {
+        counterService.increment(REQUESTED_COUNTER);
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null) {
+            User user = (User) attributes.getAttribute(USER_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+            if (user != null && email.equals(user.getAccount().getEmail())) {
+                return user;
+            }
+        }
+        counterService.increment(LOADED_COUNTER);
+        User user = userRepository.findAuthorizedUserByAccountEmail(email);
+        if (attributes != null && user != null) {
+            attributes.setAttribute(USER_ATTRIBUTE, user, RequestAttributes.SCOPE_REQUEST);
+        }
+        return user;
+    }
+}
@@ -0,0 +1,119 @@
+package com.softserve.academy.spaced.repetition.service.cache;
+
+import com.softserve.academy.spaced.repetition.controller.utils.dto.EntityInterface;
+import com.softserve.academy.spaced.repetition.service.rating.RatedEntity;
+import com.softserve.academy.spaced.repetition.service.rating.RatingsChangedEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Decks and published courses ranked by rating for the catalog listings. The rankings are loaded once after
+ * startup and kept up to date from rating flushes and from changes of decks and courses made through the
+ * services; a periodic full rebuild repairs anything changed behind their back.
+ */
+@Component
+public class CatalogCache {
+    private static final String SELECT_DECK_RATINGS = "SELECT deck_id, rating FROM deck";
+    private static final String SELECT_PUBLISHED_COURSE_RATINGS =
+            "SELECT course_id, rating FROM course WHERE published = TRUE";
+    private static final String SELECT_DECK_RATING = "SELECT rating FROM deck WHERE deck_id = ?";
+    private static final String SELECT_PUBLISHED_COURSE_RATING =
+            "SELECT rating FROM course WHERE course_id = ? AND published = TRUE";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final RatingLeaderboard decks = new RatingLeaderboard();
+    private final RatingLeaderboard courses = new RatingLeaderboard();
+
+    @Autowired
+    public CatalogCache(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${app.catalog.rebuildInterval:600000}",
+            fixedDelayString = "${app.catalog.rebuildInterval:600000}")
+    public void rebuild() {
+        decks.replaceAll(loadRatings(SELECT_DECK_RATINGS));
+        courses.replaceAll(loadRatings(SELECT_PUBLISHED_COURSE_RATINGS));
+    }
+
+    public Page<Long> getDeckPage(Pageable pageable) {
+        return decks.getPage(pageable);
+    }
+
+    public Page<Long> getCoursePage(Pageable pageable) {
+        return courses.getPage(pageable);
+    }
+
+    public List<Long> getTopCourses(int limit) {
+        return courses.getTop(limit);
+    }
+
+    public void putDeck(Long deckId, double rating) {
+        decks.put(deckId, rating);
+    }
+
+    public void removeDeck(Long deckId) {
+        decks.remove(deckId);
+    }
+
+    /**
+     * Reloads the rating of the course, removing it from the ranking if it is deleted or not published.
+     */
+    public void refreshCourse(Long courseId) {
+        refresh(courses, SELECT_PUBLISHED_COURSE_RATING, courseId);
+    }
+
+    @EventListener
+    public void onRatingsChanged(RatingsChangedEvent event) {
+        if (event.getEntity() == RatedEntity.DECK) {
+            event.getIds().forEach(id -> refresh(decks, SELECT_DECK_RATING, id));
+        } else if (event.getEntity() == RatedEntity.COURSE) {
+            event.getIds().forEach(this::refreshCourse);
+        }
+    }
+
+    /**
+     * Orders entities loaded by ids the way the ids are ranked, leaving out the ids which were not found.
+     */
+    public static <T extends EntityInterface> List<T> inRankOrder(List<Long> ids, List<T> entities) {
+        Map<Long, T> entitiesById = new HashMap<>();
+        entities.forEach(entity -> entitiesById.put(entity.getId(), entity));
+        List<T> ordered = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            T entity = entitiesById.get(id);
+            if (entity != null) {
+                ordered.add(entity);
+            }
+        }
+        return ordered;
+    }
+
+    private void refresh(RatingLeaderboard leaderboard, String query, Long id) {
+        List<Double> rating = jdbcTemplate.queryForList(query, Double.class, id);
+        if (rating.isEmpty()) {
+            leaderboard.remove(id);
+        } else {
+            leaderboard.put(id, rating.get(0));
+        }
+    }
+
+    private Map<Long, Double> loadRatings(String query) {
+        Map<Long, Double> ratings = new HashMap<>();
+        jdbcTemplate.query(query, (RowCallbackHandler) resultSet ->
+                ratings.put(resultSet.getLong(1), resultSet.getDouble(2)));
+        return ratings;
+    }
+}
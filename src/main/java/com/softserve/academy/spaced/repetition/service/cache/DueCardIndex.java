@@ -0,0 +1,247 @@
+package com.softserve.academy.spaced.repetition.service.cache;
+
+import com.softserve.academy.spaced.repetition.repository.UserCardQueueRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.metrics.CounterService;
+import org.springframework.boot.actuate.metrics.GaugeService;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory review schedule of every (user, deck) pair that was recently used for learning.
+ * Card ids are kept ordered by their date to repeat, so the next batch of due cards is taken from memory
+ * instead of scanning user_card_queue. Reviews move the cards after they are committed; reviews committed while
+ * the schedule is being loaded are replayed into it before it is cached. Entries that were not used for a while
+ * are evicted and rebuilt from the database on the next access.
+ */
+@Component
+public class DueCardIndex {
+    private static final String HIT_COUNTER = "learning.due-card-index.hit";
+    private static final String MISS_COUNTER = "learning.due-card-index.miss";
+    private static final String HIT_RATIO_GAUGE = "learning.due-card-index.hit-ratio";
+    private static final String SIZE_GAUGE = "learning.due-card-index.size";
+
+    private final UserCardQueueRepository userCardQueueRepository;
+    private final CounterService counterService;
+    private final GaugeService gaugeService;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    @Value("${app.learning.dueCardIndex.maxEntries:10000}")
+    private int maxEntries = 10000;
+
+    @Value("${app.learning.dueCardIndex.idleTimeout:1800000}")
+    private long idleTimeout = 1800000;
+
+    private final Map<ScheduleKey, Schedule> schedules = new LinkedHashMap<ScheduleKey, Schedule>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<ScheduleKey, Schedule> eldest) {
+            return size() > maxEntries;
+        }
+    };
+    // updates of the schedules that are being loaded right now
+    private final Map<ScheduleKey, PendingLoad> pendingLoads = new HashMap<>();
+
+    @Autowired
+    public DueCardIndex(UserCardQueueRepository userCardQueueRepository, CounterService counterService,
+                        GaugeService gaugeService) {
+        this.userCardQueueRepository = userCardQueueRepository;
+        this.counterService = counterService;
+        this.gaugeService = gaugeService;
+    }
+
+    public List<Long> getDueCardIds(Long userId, Long deckId, Date now, int limit) {
+        return getSchedule(userId, deckId).getDueCardIds(now.getTime(), limit);
+    }
+
+    /**
+     * Moves the card to the new date to repeat. Inside a transaction the change is applied after the commit.
+     */
+    public void update(Long userId, Long deckId, Long cardId, Date dateToRepeat) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+                @Override
+                public void afterCommit() {
+                    apply(userId, deckId, cardId, dateToRepeat);
+                }
+            });
+        } else {
+            apply(userId, deckId, cardId, dateToRepeat);
+        }
+    }
+
+    public void evict(Long userId, Long deckId) {
+        ScheduleKey key = new ScheduleKey(userId, deckId);
+        synchronized (schedules) {
+            schedules.remove(key);
+            PendingLoad pendingLoad = pendingLoads.get(key);
+            if (pendingLoad != null) {
+                pendingLoad.evicted = true;
+            }
+        }
+    }
+
+    private void apply(Long userId, Long deckId, Long cardId, Date dateToRepeat) {
+        ScheduleKey key = new ScheduleKey(userId, deckId);
+        Schedule schedule;
+        synchronized (schedules) {
+            schedule = schedules.get(key);
+            PendingLoad pendingLoad = pendingLoads.get(key);
+            if (schedule == null && pendingLoad != null) {
+                // the schedule being loaded may have read the card before the change was committed
+                pendingLoad.dateToRepeatByCardId.put(cardId, dateToRepeat);
+                return;
+            }
+        }
+        if (schedule != null) {
+            schedule.put(cardId, dateToRepeat);
+        }
+    }
+
+    private Schedule getSchedule(Long userId, Long deckId) {
+        ScheduleKey key = new ScheduleKey(userId, deckId);
+        long now = System.currentTimeMillis();
+        Schedule schedule;
+        PendingLoad pendingLoad = null;
+        synchronized (schedules) {
+            schedule = schedules.get(key);
+            if (schedule != null && now - schedule.lastAccess > idleTimeout) {
+                schedules.remove(key);
+                schedule = null;
+            }
+            if (schedule == null) {
+                pendingLoad = pendingLoads.computeIfAbsent(key, pending -> new PendingLoad());
+                pendingLoad.loads++;
+            }
+        }
+        if (schedule != null) {
+            schedule.lastAccess = now;
+            registerAccess(HIT_COUNTER, hits);
+            return schedule;
+        }
+        registerAccess(MISS_COUNTER, misses);
+        Schedule loadedSchedule;
+        try {
+            loadedSchedule = loadSchedule(userId, deckId);
+        } catch (RuntimeException e) {
+            synchronized (schedules) {
+                finishLoad(key, pendingLoad);
+            }
+            throw e;
+        }
+        synchronized (schedules) {
+            finishLoad(key, pendingLoad);
+            pendingLoad.dateToRepeatByCardId.forEach(loadedSchedule::put);
+            if (pendingLoad.evicted) {
+                return loadedSchedule;
+            }
+            Schedule concurrentlyLoaded = schedules.putIfAbsent(key, loadedSchedule);
+            gaugeService.submit(SIZE_GAUGE, schedules.size());
+            return concurrentlyLoaded != null ? concurrentlyLoaded : loadedSchedule;
+        }
+    }
+
+    private void finishLoad(ScheduleKey key, PendingLoad pendingLoad) {
+        if (--pendingLoad.loads == 0) {
+            pendingLoads.remove(key);
+        }
+    }
+
+    private Schedule loadSchedule(Long userId, Long deckId) {
+        Schedule schedule = new Schedule();
+        for (Object[] row : userCardQueueRepository.findCardDatesToRepeatByUserIdAndDeckId(userId, deckId)) {
+            schedule.put((Long) row[0], (Date) row[1]);
+        }
+        return schedule;
+    }
+
+    private void registerAccess(String counter, AtomicLong accesses) {
+        accesses.incrementAndGet();
+        counterService.increment(counter);
+        long hitCount = hits.get();
+        gaugeService.submit(HIT_RATIO_GAUGE, (double) hitCount / (hitCount + misses.get()));
+    }
+
+    private static final class ScheduleKey {
+        private final Long userId;
+        private final Long deckId;
+
+        private ScheduleKey(Long userId, Long deckId) {
+            this.userId = userId;
+            this.deckId = deckId;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            ScheduleKey that = (ScheduleKey) o;
+            return userId.equals(that.userId) && deckId.equals(that.deckId);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * userId.hashCode() + deckId.hashCode();
+        }
+    }
+
+    private static final class PendingLoad {
+        private final Map<Long, Date> dateToRepeatByCardId = new LinkedHashMap<>();
+        private int loads;
+        private boolean evicted;
+    }
+
+    private static final class DueCard implements Comparable<DueCard> {
+        private final long cardId;
+        private final long dateToRepeat;
+
+        private DueCard(long cardId, long dateToRepeat) {
+            this.cardId = cardId;
+            this.dateToRepeat = dateToRepeat;
+        }
+
+        @Override
+        public int compareTo(DueCard other) {
+            int result = Long.compare(dateToRepeat, other.dateToRepeat);
+            return result != 0 ? result : Long.compare(cardId, other.cardId);
+        }
+    }
+
+    private static final class Schedule {
+        private final NavigableSet<DueCard> dueCards = new TreeSet<>();
+        private final Map<Long, DueCard> cards = new HashMap<>();
+        private volatile long lastAccess = System.currentTimeMillis();
+
+        private synchronized void put(Long cardId, Date dateToRepeat) {
+            DueCard previous = cards.remove(cardId);
+            if (previous != null) {
+                dueCards.remove(previous);
+            }
+            if (dateToRepeat != null) {
+                DueCard dueCard = new DueCard(cardId, dateToRepeat.getTime());
+                cards.put(cardId, dueCard);
+                dueCards.add(dueCard);
+            }
+        }
+
+        private synchronized List<Long> getDueCardIds(long now, int limit) {
+            List<Long> cardIds = new ArrayList<>(Math.min(limit, dueCards.size()));
+            for (DueCard dueCard : dueCards) {
+                if (dueCard.dateToRepeat > now || cardIds.size() == limit) {
+                    break;
+                }
+                cardIds.add(dueCard.cardId);
+            }
+            return cardIds;
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package com.softserve.academy.spaced.repetition.service.cache;
+
+import com.softserve.academy.spaced.repetition.repository.UserCardQueueRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.*;
+
+/**
+ * Numbers of cards every recently learning user has to repeat per deck until the end of the day, loaded with
+ * one grouped query per user. Reviews adjust the numbers after they are committed; at local midnight the
+ * numbers of the previous day are dropped and loaded again on the next access. Numbers that are loaded while
+ * a review of the same user is applied may miss it and are not cached; loads of other users are not affected.
+ */
+@Component
+public class DueCountCache {
+    private final UserCardQueueRepository userCardQueueRepository;
+
+    @Value("${app.learning.dueCountCache.maxEntries:10000}")
+    private int maxEntries = 10000;
+
+    private final Map<Long, DueCounts> counts = new LinkedHashMap<Long, DueCounts>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, DueCounts> eldest) {
+            return size() > maxEntries;
+        }
+    };
+    // stamps of the users whose counts are being loaded right now
+    private final Map<Long, LoadStamp> loadStamps = new HashMap<>();
+
+    @Autowired
+    public DueCountCache(UserCardQueueRepository userCardQueueRepository) {
+        this.userCardQueueRepository = userCardQueueRepository;
+    }
+
+    /**
+     * Returns the numbers of cards due today by deck id, decks without due cards are left out.
+     */
+    public Map<Long, Long> getDueCounts(Long userId) {
+        long now = System.currentTimeMillis();
+        DueCounts dueCounts;
+        LoadStamp stamp = null;
+        long modificationsBeforeLoad = 0;
+        synchronized (counts) {
+            dueCounts = counts.get(userId);
+            if (dueCounts == null || now >= dueCounts.dayEnd) {
+                stamp = loadStamps.computeIfAbsent(userId, id -> new LoadStamp());
+                stamp.loads++;
+                modificationsBeforeLoad = stamp.modifications;
+            }
+        }
+        if (stamp != null) {
+            DueCounts loadedCounts = null;
+            try {
+                loadedCounts = loadDueCounts(userId, now);
+            } finally {
+                synchronized (counts) {
+                    if (--stamp.loads == 0) {
+                        loadStamps.remove(userId);
+                    }
+                    // counts loaded while a review of the user was applied may have missed it
+                    if (loadedCounts != null && stamp.modifications == modificationsBeforeLoad) {
+                        counts.put(userId, loadedCounts);
+                    }
+                }
+            }
+            dueCounts = loadedCounts;
+        }
+        return dueCounts.toMap();
+    }
+
+    /**
+     * Moves the card from the previous date to repeat to the new one. Inside a transaction the change is applied
+     * after the commit.
+     */
+    public void update(Long userId, Long deckId, Date previousDateToRepeat, Date dateToRepeat) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+                @Override
+                public void afterCommit() {
+                    apply(userId, deckId, previousDateToRepeat, dateToRepeat);
+                }
+            });
+        } else {
+            apply(userId, deckId, previousDateToRepeat, dateToRepeat);
+        }
+    }
+
+    @Scheduled(cron = "${app.learning.dueCountCache.cron:0 0 0 * * *}")
+    public void rollForward() {
+        synchronized (counts) {
+            counts.clear();
+            loadStamps.values().forEach(stamp -> stamp.modifications++);
+        }
+    }
+
+    private void apply(Long userId, Long deckId, Date previousDateToRepeat, Date dateToRepeat) {
+        DueCounts dueCounts;
+        synchronized (counts) {
+            dueCounts = counts.get(userId);
+            if (dueCounts == null || System.currentTimeMillis() >= dueCounts.dayEnd) {
+                // the counts of the user may be loading right now and miss the change
+                LoadStamp stamp = loadStamps.get(userId);
+                if (stamp != null) {
+                    stamp.modifications++;
+                }
+                return;
+            }
+        }
+        dueCounts.add(deckId, dueCounts.countOf(dateToRepeat) - dueCounts.countOf(previousDateToRepeat));
+    }
+
+    private DueCounts loadDueCounts(Long userId, long now) {
+        ZoneId zone = ZoneId.systemDefault();
+        long dayEnd = LocalDate.now(zone).plusDays(1).atStartOfDay(zone).toInstant().toEpochMilli();
+        DueCounts dueCounts = new DueCounts(Math.max(dayEnd, now + 1));
+        for (Object[] row : userCardQueueRepository.countCardsToRepeatByDeckId(userId, new Date(dueCounts.dayEnd))) {
+            dueCounts.add((Long) row[0], (Long) row[1]);
+        }
+        return dueCounts;
+    }
+
+    private static final class LoadStamp {
+        private int loads;
+        private long modifications;
+    }
+
+    private static final class DueCounts {
+        private final long dayEnd;
+        private final Map<Long, Long> deckCounts = new HashMap<>();
+
+        private DueCounts(long dayEnd) {
+            this.dayEnd = dayEnd;
+        }
+
+        private int countOf(Date dateToRepeat) {
+            return dateToRepeat != null && dateToRepeat.getTime() < dayEnd ? 1 : 0;
+        }
+
+        private synchronized void add(Long deckId, long delta) {
+            if (delta != 0) {
+                deckCounts.merge(deckId, delta, Long::sum);
+            }
+        }
+
+        private synchronized Map<Long, Long> toMap() {
+            Map<Long, Long> result = new TreeMap<>();
+            deckCounts.forEach((deckId, count) -> {
+                if (count > 0) {
+                    result.put(deckId, count);
+                }
+            });
+            return result;
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.softserve.academy.spaced.repetition.service.cache;
+
+import com.softserve.academy.spaced.repetition.service.storage.ImageContent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.metrics.CounterService;
+import org.springframework.boot.actuate.metrics.GaugeService;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Content of recently served images, bounded by the total number of bytes and evicted in LRU order.
+ * Content of an image never changes once it is stored, so an entry keeps the content hash it was read for
+ * and is served with the same ETag; entries are only dropped when the image is deleted or evicted.
+ */
+@Component
+public class ImageContentCache {
+    private static final String HIT_COUNTER = "image.content-cache.hit";
+    private static final String MISS_COUNTER = "image.content-cache.miss";
+    private static final String EVICTION_COUNTER = "image.content-cache.eviction";
+    private static final String BYTES_GAUGE = "image.content-cache.bytes";
+
+    private final CounterService counterService;
+    private final GaugeService gaugeService;
+    private final Map<Long, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long totalBytes;
+
+    @Value("${app.images.cache.maxBytes:67108864}")
+    private long maxBytes;
+
+    @Value("${app.images.cache.maxEntryBytes:1048576}")
+    private long maxEntryBytes;
+
+    @Autowired
+    public ImageContentCache(CounterService counterService, GaugeService gaugeService) {
+        this.counterService = counterService;
+        this.gaugeService = gaugeService;
+    }
+
+    public ImageContent get(Long imageId) {
+        Entry entry;
+        synchronized (this) {
+            entry = entries.get(imageId);
+        }
+        if (entry == null) {
+            counterService.increment(MISS_COUNTER);
+            return null;
+        }
+        counterService.increment(HIT_COUNTER);
+        return new ImageContent(entry.contentHash, entry.contentType, new ByteArrayResource(entry.content));
+    }
+
+    public boolean isCacheable(long size) {
+        return size <= maxEntryBytes && size <= maxBytes;
+    }
+
+    public void put(Long imageId, String contentHash, String contentType, byte[] content) {
+        if (!isCacheable(content.length)) {
+            return;
+        }
+        synchronized (this) {
+            Entry previous = entries.put(imageId, new Entry(contentHash, contentType, content));
+            if (previous != null) {
+                totalBytes -= previous.content.length;
+            }
+            totalBytes += content.length;
+            Iterator<Entry> eldest = entries.values().iterator();
+            while (totalBytes > maxBytes) {
+                totalBytes -= eldest.next().content.length;
+                eldest.remove();
+                counterService.increment(EVICTION_COUNTER);
+            }
+            gaugeService.submit(BYTES_GAUGE, totalBytes);
+        }
+    }
+
+    public synchronized void evict(Long imageId) {
+        Entry entry = entries.remove(imageId);
+        if (entry != null) {
+            totalBytes -= entry.content.length;
+            gaugeService.submit(BYTES_GAUGE, totalBytes);
+        }
+    }
+
+    private static final class Entry {
+        private final String contentHash;
+        private final String contentType;
+        private final byte[] content;
+
+        private Entry(String contentHash, String contentType, byte[] content) {
+            this.contentHash = contentHash;
+            this.contentType = contentType;
+            this.content = content;
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.softserve.academy.spaced.repetition.service.cache;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Ids of entities ordered by rating, highest first, and by id for equal ratings. Readers get an immutable
+ * snapshot without locking; every change copies the snapshot and swaps it in, so changes are serialized and
+ * cost O(n) without touching the database.
+ */
+public class RatingLeaderboard {
+    private volatile Snapshot snapshot = new Snapshot(new long[0], new double[0]);
+
+    public synchronized void replaceAll(Map<Long, Double> ratings) {
+        List<Map.Entry<Long, Double>> entries = new ArrayList<>(ratings.entrySet());
+        entries.sort((first, second) ->
+                compare(first.getValue(), first.getKey(), second.getValue(), second.getKey()));
+        long[] ids = new long[entries.size()];
+        double[] values = new double[entries.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = entries.get(i).getKey();
+            values[i] = entries.get(i).getValue();
+        }
+        snapshot = new Snapshot(ids, values);
+    }
+
+    /**
+     * Adds the entity or moves it to the position of its new rating.
+     */
+    public synchronized void put(long id, double rating) {
+        Snapshot current = snapshot;
+        int oldIndex = current.indexOf(id);
+        int size = current.ids.length - (oldIndex >= 0 ? 1 : 0);
+        long[] ids = new long[size + 1];
+        double[] values = new double[size + 1];
+        int target = 0;
+        boolean inserted = false;
+        for (int i = 0; i < current.ids.length; i++) {
+            if (i == oldIndex) {
+                continue;
+            }
+            if (!inserted && compare(rating, id, current.ratings[i], current.ids[i]) < 0) {
+                ids[target] = id;
+                values[target++] = rating;
+                inserted = true;
+            }
+            ids[target] = current.ids[i];
+            values[target++] = current.ratings[i];
+        }
+        if (!inserted) {
+            ids[target] = id;
+            values[target] = rating;
+        }
+        snapshot = new Snapshot(ids, values);
+    }
+
+    public synchronized void remove(long id) {
+        Snapshot current = snapshot;
+        int index = current.indexOf(id);
+        if (index < 0) {
+            return;
+        }
+        long[] ids = new long[current.ids.length - 1];
+        double[] values = new double[ids.length];
+        System.arraycopy(current.ids, 0, ids, 0, index);
+        System.arraycopy(current.ids, index + 1, ids, index, ids.length - index);
+        System.arraycopy(current.ratings, 0, values, 0, index);
+        System.arraycopy(current.ratings, index + 1, values, index, values.length - index);
+        snapshot = new Snapshot(ids, values);
+    }
+
+    public Page<Long> getPage(Pageable pageable) {
+        long[] ids = snapshot.ids;
+        int to = Math.min(ids.length, pageable.getOffset() + pageable.getPageSize());
+        List<Long> page = new ArrayList<>();
+        for (int i = pageable.getOffset(); i < to; i++) {
+            page.add(ids[i]);
+        }
+        return new PageImpl<>(page, pageable, ids.length);
+    }
+
+    public List<Long> getTop(int limit) {
+        return getPage(new PageRequest(0, limit)).getContent();
+    }
+
+    private static int compare(double rating, long id, double otherRating, long otherId) {
+        int byRating = Double.compare(otherRating, rating);
+        return byRating != 0 ? byRating : Long.compare(id, otherId);
+    }
+
+    private static final class Snapshot {
+        private final long[] ids;
+        private final double[] ratings;
+
+        private Snapshot(long[] ids, double[] ratings) {
+            this.ids = ids;
+            this.ratings = ratings;
+        }
+
+        private int indexOf(long id) {
+            for (int i = 0; i < ids.length; i++) {
+                if (ids[i] == id) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.softserve.academy.spaced.repetition.service.cache;
+
+import com.softserve.academy.spaced.repetition.domain.RememberingLevel;
+import com.softserve.academy.spaced.repetition.repository.RememberingLevelRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Remembering levels of recently learning accounts, loaded with one query per account and kept as an immutable
+ * ladder indexed by order number. Accounts which were not used for a while are evicted, changes of the levels
+ * have to evict the account explicitly.
+ */
+@Component
+public class RememberingLevelCache {
+    private final RememberingLevelRepository rememberingLevelRepository;
+
+    @Value("${app.learning.rememberingLevelCache.maxEntries:10000}")
+    private int maxEntries;
+
+    private final Map<Long, Level[]> ladders = new LinkedHashMap<Long, Level[]>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, Level[]> eldest) {
+            return size() > maxEntries;
+        }
+    };
+    private long evictions;
+
+    @Autowired
+    public RememberingLevelCache(RememberingLevelRepository rememberingLevelRepository) {
+        this.rememberingLevelRepository = rememberingLevelRepository;
+    }
+
+    public Level getLevel(Long accountId, int orderNumber) {
+        Level[] ladder;
+        long evictionsBeforeLoad;
+        synchronized (ladders) {
+            ladder = ladders.get(accountId);
+            evictionsBeforeLoad = evictions;
+        }
+        if (ladder == null) {
+            ladder = loadLadder(accountId);
+            synchronized (ladders) {
+                // a ladder loaded while some account was evicted may be stale, it is loaded again next time
+                if (evictions == evictionsBeforeLoad) {
+                    ladders.put(accountId, ladder);
+                }
+            }
+        }
+        if (orderNumber < 1 || orderNumber >= ladder.length || ladder[orderNumber] == null) {
+            throw new IllegalArgumentException("Account " + accountId + " has no remembering level " + orderNumber);
+        }
+        return ladder[orderNumber];
+    }
+
+    /**
+     * Drops the ladder of the account. Inside a transaction it is dropped once more after the commit, so a
+     * ladder loaded concurrently before the changes became visible does not survive.
+     */
+    public void evict(Long accountId) {
+        remove(accountId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+                @Override
+                public void afterCommit() {
+                    remove(accountId);
+                }
+            });
+        }
+    }
+
+    private void remove(Long accountId) {
+        synchronized (ladders) {
+            ladders.remove(accountId);
+            evictions++;
+        }
+    }
+
+    private Level[] loadLadder(Long accountId) {
+        List<RememberingLevel> levels = rememberingLevelRepository.findAllByAccountIdOrderByOrderNumber(accountId);
+        int maxOrderNumber = levels.isEmpty() ? 0 : levels.get(levels.size() - 1).getOrderNumber();
+        Level[] ladder = new Level[maxOrderNumber + 1];
+        for (RememberingLevel level : levels) {
+            ladder[level.getOrderNumber()] = new Level(level.getId(), level.getOrderNumber(),
+                    level.getNumberOfPostponedDays());
+        }
+        return ladder;
+    }
+
+    public static final class Level {
+        private final Long id;
+        private final int orderNumber;
+        private final int numberOfPostponedDays;
+
+        private Level(Long id, int orderNumber, int numberOfPostponedDays) {
+            this.id = id;
+            this.orderNumber = orderNumber;
+            this.numberOfPostponedDays = numberOfPostponedDays;
+        }
+
+        public Long getId() {
+            return id;
+        }
+
+        public int getOrderNumber() {
+            return orderNumber;
+        }
+
+        public int getNumberOfPostponedDays() {
+            return numberOfPostponedDays;
+        }
+    }
+}
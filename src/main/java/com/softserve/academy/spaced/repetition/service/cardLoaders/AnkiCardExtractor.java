@@ -1,72 +1,100 @@
 package com.softserve.academy.spaced.repetition.service.cardLoaders;
 
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 import java.sql.Connection;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.*;
-import java.util.regex.Matcher;
+import java.util.concurrent.*;
 import java.util.regex.Pattern;
 
+/**
+ * Reads notes of an Anki collection in a single pass over the notes table. Notes are cut into chunks while
+ * they are read and HTML tags are stripped from the chunks on a bounded pool; when the pool is saturated
+ * the reading thread strips the chunk itself, so reading never runs far ahead of stripping.
+ */
 @Service
 public class AnkiCardExtractor implements CardDataExtractor {
-    private static final Logger LOGGER = LoggerFactory.getLogger(AnkiCardExtractor.class);
-    private static final String QUESTION_QUERY = "SELECT sfld FROM notes";
-    private static final String ANSWER_QUERY = "SELECT flds FROM notes";
+    private static final String NOTES_QUERY = "SELECT sfld, flds FROM notes";
     private static final String QUESTION_COLUMN_NAME = "sfld";
     private static final String ANSWER_COLUMN_NAME = "flds";
-    private static final String REGEX_FOR_TAGS = "<[^>]*>";
+    private static final Pattern TAGS_PATTERN = Pattern.compile("<[^>]*>");
     @Autowired
     @Qualifier("cardConnector")
     private DbConnector connector;
 
-    @Override
-    public Map<String, String> extractData(String path) throws SQLException, ClassNotFoundException {
-        Connection connection = connector.getConnection(path);
-        List<String> questions = extractDateInToList(connection, QUESTION_QUERY, QUESTION_COLUMN_NAME);
-        List<String> answers = extractDateInToList(connection, ANSWER_QUERY, ANSWER_COLUMN_NAME);
-        answers = deleteTags(answers, questions);
-        return formMap(questions, answers);
+    @Value("${app.cards.anki.threads:2}")
+    private int threads;
+
+    @Value("${app.cards.anki.chunkSize:1000}")
+    private int chunkSize;
+
+    private ExecutorService executor;
+
+    @PostConstruct
+    public void init() {
+        executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(threads), new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
     }
 
-    private List<String> extractDateInToList(Connection conn, String query, String columnName) {
-        List<String> list = new ArrayList<>();
-        try (Statement statement = conn.createStatement();
-             ResultSet res = statement.executeQuery(query)) {
+    @Override
+    public Map<String, String> extractData(String path) throws SQLException, ClassNotFoundException {
+        List<Future<List<String[]>>> chunks = new ArrayList<>();
+        try (Connection connection = connector.getConnection(path);
+             Statement statement = connection.createStatement();
+             ResultSet res = statement.executeQuery(NOTES_QUERY)) {
+            List<String[]> chunk = new ArrayList<>(chunkSize);
             while (res.next()) {
-                list.add(res.getString(columnName));
+                chunk.add(new String[]{res.getString(QUESTION_COLUMN_NAME), res.getString(ANSWER_COLUMN_NAME)});
+                if (chunk.size() == chunkSize) {
+                    chunks.add(submitChunk(chunk));
+                    chunk = new ArrayList<>(chunkSize);
+                }
             }
-        } catch (SQLException e) {
-            LOGGER.error(e.getMessage());
-
+            if (!chunk.isEmpty()) {
+                chunks.add(submitChunk(chunk));
+            }
+        } catch (SQLException | RuntimeException e) {
+            chunks.forEach(future -> future.cancel(true));
+            throw e;
         }
-        return list;
+        return formMap(chunks);
     }
 
-    private List<String> deleteTags(List<String> questions, List<String> answers) {
-        List<String> result = new ArrayList<>();
-        Pattern pattern = Pattern.compile(REGEX_FOR_TAGS);
-        for (String elem : questions) {
-            Matcher matcher = pattern.matcher(elem);
-            result.add(matcher.replaceAll(""));
-        }
-        return result;
+    private Future<List<String[]>> submitChunk(List<String[]> notes) {
+        return executor.submit(() -> {
+            for (String[] note : notes) {
+                note[1] = TAGS_PATTERN.matcher(note[1]).replaceAll("").replace(note[0], " ");
+            }
+            return notes;
+        });
     }
 
-    private Map<String, String> formMap(List<String> questions, List<String> answers) {
-        Map<String, String> map = new HashMap<>();
-        Iterator<String> iterAnswer = answers.iterator();
-        Iterator<String> iterQuestion = questions.iterator();
-        while (iterAnswer.hasNext() && iterQuestion.hasNext()) {
-            String question = iterQuestion.next();
-            String clearedAnswer = iterAnswer.next().replace(question, " ");
-            map.put(question, clearedAnswer);
+    private Map<String, String> formMap(List<Future<List<String[]>>> chunks) {
+        Map<String, String> map = new LinkedHashMap<>();
+        try {
+            for (Future<List<String[]>> chunk : chunks) {
+                for (String[] note : chunk.get()) {
+                    map.put(note[0], note[1]);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Extraction of cards was interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Extraction of cards failed", e.getCause());
         }
         return map;
     }
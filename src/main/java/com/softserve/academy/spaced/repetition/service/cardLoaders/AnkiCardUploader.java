@@ -3,28 +3,35 @@ package com.softserve.academy.spaced.repetition.service.cardLoaders;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.io.File;
-import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
 
 @Service
 public class AnkiCardUploader implements CardUploader {
-    private String FILE_PATH;
+    private static final String FILE_PREFIX = "anki-";
+    private static final String FILE_SUFFIX = ".anki2";
+
+    private String uploadDirectory;
 
     @Override
-    public void setFilePath(String filePath) {
-        this.FILE_PATH = filePath;
+    public void setUploadDirectory(String uploadDirectory) {
+        this.uploadDirectory = uploadDirectory;
     }
 
     @Override
     public String uploadFile(MultipartFile file) throws IOException {
-        String relativePath = "";
-        File newFile = new File(FILE_PATH);
-        newFile.createNewFile();
-        relativePath = newFile.getAbsolutePath();
-        FileOutputStream fos = new FileOutputStream(newFile);
-        fos.write(file.getBytes());
-        fos.close();
-        return relativePath;
+        Path directory = Files.createDirectories(Paths.get(uploadDirectory));
+        Path newFile = Files.createTempFile(directory, FILE_PREFIX, FILE_SUFFIX);
+        try (InputStream in = file.getInputStream()) {
+            Files.copy(in, newFile, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            Files.deleteIfExists(newFile);
+            throw e;
+        }
+        return newFile.toAbsolutePath().toString();
     }
 }
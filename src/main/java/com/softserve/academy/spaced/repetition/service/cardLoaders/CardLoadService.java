@@ -1,18 +1,23 @@
 package com.softserve.academy.spaced.repetition.service.cardLoaders;
 
 import com.softserve.academy.spaced.repetition.utils.exceptions.WrongFormatException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
 import java.sql.SQLException;
 import java.util.Map;
 import java.util.NoSuchElementException;
 
 @Service
 public class CardLoadService {
+    private static final Logger LOGGER = LoggerFactory.getLogger(CardLoadService.class);
     @Autowired
     private CardDataExtractor cardDataExtractor;
     @Autowired
@@ -23,17 +28,29 @@ public class CardLoadService {
 
     public void loadCard(MultipartFile multipartFile, Long deckId)
             throws IOException, SQLException, ClassNotFoundException, WrongFormatException {
-        try{
-            String relativePath = cardUploader.uploadFile(multipartFile);
-            Map <String, String> map = cardDataExtractor.extractData(relativePath);
-            dataSaver.save(map, deckId);
+        String relativePath;
+        try {
+            relativePath = cardUploader.uploadFile(multipartFile);
         } catch (IOException e) {
             throw new NoSuchElementException("Such file not found");
+        }
+        try {
+            Map<String, String> map = cardDataExtractor.extractData(relativePath);
+            dataSaver.save(map, deckId);
         } catch (SQLException e) {
             throw new WrongFormatException();
         } catch (ClassNotFoundException e) {
             throw new NoSuchElementException("Can't read data from uploaded file");
+        } finally {
+            deleteUploadedFile(relativePath);
         }
+    }
 
+    private void deleteUploadedFile(String relativePath) {
+        try {
+            Files.deleteIfExists(Paths.get(relativePath));
+        } catch (IOException e) {
+            LOGGER.warn("Failed to delete uploaded cards file {}", relativePath, e);
+        }
     }
 }
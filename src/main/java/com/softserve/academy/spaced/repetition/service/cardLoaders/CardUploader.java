@@ -7,7 +7,12 @@ import java.io.IOException;
 
 @Service
 public interface CardUploader {
-    void setFilePath(String filePath);
+    void setUploadDirectory(String uploadDirectory);
 
+    /**
+     * Copies the uploaded file to a new temporary file, so concurrent uploads never share a file.
+     *
+     * @return path to the copy, which the caller deletes when it is no longer needed
+     */
     String uploadFile(MultipartFile file) throws IOException;
 }
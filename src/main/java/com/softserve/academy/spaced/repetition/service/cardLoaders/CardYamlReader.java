@@ -0,0 +1,128 @@
+package com.softserve.academy.spaced.repetition.service.cardLoaders;
+
+import com.softserve.academy.spaced.repetition.controller.utils.dto.CardFileDTO;
+import org.yaml.snakeyaml.Yaml;
+import org.yaml.snakeyaml.error.YAMLException;
+import org.yaml.snakeyaml.events.Event;
+import org.yaml.snakeyaml.events.ScalarEvent;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Reads cards from a YAML cards file (see data/CardsTemplate.yml) one by one from the parser events,
+ * so only the current card is kept in memory.
+ */
+public class CardYamlReader implements Iterator<CardFileDTO>, Closeable {
+    private static final String INVALID_FORMAT_MESSAGE = "Invalid format of file!";
+    private static final String CARDS_KEY = "cards";
+    private static final String TITLE_KEY = "title";
+    private static final String QUESTION_KEY = "question";
+    private static final String ANSWER_KEY = "answer";
+
+    private final Reader reader;
+    private final Iterator<Event> events;
+    private CardFileDTO nextCard;
+    private boolean started;
+    private boolean finished;
+
+    public CardYamlReader(InputStream inputStream) {
+        this.reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+        this.events = new Yaml().parse(reader).iterator();
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (nextCard == null && !finished) {
+            try {
+                nextCard = readCard();
+            } catch (YAMLException | NoSuchElementException e) {
+                throw new IllegalArgumentException(INVALID_FORMAT_MESSAGE, e);
+            }
+        }
+        return nextCard != null;
+    }
+
+    @Override
+    public CardFileDTO next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        CardFileDTO card = nextCard;
+        nextCard = null;
+        return card;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private CardFileDTO readCard() {
+        if (!started) {
+            started = true;
+            if (!startCards()) {
+                finished = true;
+                return null;
+            }
+        }
+        Event event = events.next();
+        if (event.is(Event.ID.SequenceEnd)) {
+            finished = true;
+            return null;
+        }
+        expect(event, Event.ID.MappingStart);
+        CardFileDTO card = new CardFileDTO();
+        for (event = events.next(); !event.is(Event.ID.MappingEnd); event = events.next()) {
+            String key = scalarValue(event);
+            String value = scalarValue(events.next());
+            if (TITLE_KEY.equals(key)) {
+                card.setTitle(value);
+            } else if (QUESTION_KEY.equals(key)) {
+                card.setQuestion(value);
+            } else if (ANSWER_KEY.equals(key)) {
+                card.setAnswer(value);
+            } else {
+                throw new IllegalArgumentException(INVALID_FORMAT_MESSAGE);
+            }
+        }
+        return card;
+    }
+
+    /**
+     * Moves to the first card of the "cards" sequence.
+     *
+     * @return false if the file has no cards
+     */
+    private boolean startCards() {
+        expect(events.next(), Event.ID.StreamStart);
+        Event event = events.next();
+        if (event.is(Event.ID.StreamEnd)) {
+            return false;
+        }
+        expect(event, Event.ID.DocumentStart);
+        expect(events.next(), Event.ID.MappingStart);
+        if (!CARDS_KEY.equals(scalarValue(events.next()))) {
+            throw new IllegalArgumentException(INVALID_FORMAT_MESSAGE);
+        }
+        event = events.next();
+        if (event.is(Event.ID.Scalar) && ((ScalarEvent) event).getValue().isEmpty()) {
+            return false;
+        }
+        expect(event, Event.ID.SequenceStart);
+        return true;
+    }
+
+    private void expect(Event event, Event.ID id) {
+        if (!event.is(id)) {
+            throw new IllegalArgumentException(INVALID_FORMAT_MESSAGE);
+        }
+    }
+
+    private String scalarValue(Event event) {
+        expect(event, Event.ID.Scalar);
+        return ((ScalarEvent) event).getValue();
+    }
+}
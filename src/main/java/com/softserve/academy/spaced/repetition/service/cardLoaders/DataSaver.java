@@ -6,35 +6,39 @@ import com.softserve.academy.spaced.repetition.service.CardService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
-import java.util.Iterator;
-import java.util.List;
-import java.util.Map;
+import java.util.*;
 
+/**
+ * Saves imported cards whose question is not stored yet. Questions are compared by their hash, which is
+ * looked up in batches against the indexed question_hash column instead of one query per card.
+ */
 @Service
 public class DataSaver {
+    private static final int HASH_LOOKUP_BATCH_SIZE = 1000;
     @Autowired
     private CardService cardService;
     @Autowired
     private CardRepository cardRepository;
 
-    public void save(Map <String, String> map, Long deckId) {
-        Iterator <Map.Entry <String, String>> iterator = map.entrySet().iterator();
-        while (iterator.hasNext()) {
-            Map.Entry <String, String> elem = iterator.next();
-            if (ifCarExistsInDb(elem.getKey())) {
-                Card card = new Card();
-                card.setAnswer(elem.getKey());
-                card.setQuestion(elem.getValue());
-                cardService.addCard(card, deckId);
-            }
+    public void save(Map<String, String> map, Long deckId) {
+        Map<String, Map.Entry<String, String>> cardsByHash = new LinkedHashMap<>();
+        for (Map.Entry<String, String> elem : map.entrySet()) {
+            cardsByHash.putIfAbsent(Card.hashQuestion(elem.getKey()), elem);
+        }
+        removeExistingQuestions(cardsByHash);
+        for (Map.Entry<String, String> elem : cardsByHash.values()) {
+            Card card = new Card();
+            card.setQuestion(elem.getKey());
+            card.setAnswer(elem.getValue());
+            cardService.addCard(card, deckId);
         }
     }
 
-    private boolean ifCarExistsInDb(String question) {
-        List <Card> questionsInDb = cardRepository.findAllByQuestion(question);
-        if (questionsInDb.isEmpty()) {
-            return true;
+    private void removeExistingQuestions(Map<String, Map.Entry<String, String>> cardsByHash) {
+        List<String> hashes = new ArrayList<>(cardsByHash.keySet());
+        for (int from = 0; from < hashes.size(); from += HASH_LOOKUP_BATCH_SIZE) {
+            List<String> batch = hashes.subList(from, Math.min(from + HASH_LOOKUP_BATCH_SIZE, hashes.size()));
+            cardsByHash.keySet().removeAll(cardRepository.findExistingQuestionHashes(batch));
         }
-        return false;
     }
 }
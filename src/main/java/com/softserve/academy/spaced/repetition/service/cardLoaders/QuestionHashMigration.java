@@ -0,0 +1,75 @@
+package com.softserve.academy.spaced.repetition.service.cardLoaders;
+
+import com.softserve.academy.spaced.repetition.domain.Card;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One-time hashing of the questions of cards that were stored before the question_hash column existed.
+ * The hash is computed by {@link Card#hashQuestion} only, SQL functions normalize text differently.
+ * Runs in the background after startup; until it is done such cards are not recognized as duplicates by imports.
+ */
+@Component
+public class QuestionHashMigration {
+    private static final Logger LOGGER = LoggerFactory.getLogger(QuestionHashMigration.class);
+    private static final int BATCH_SIZE = 1000;
+    private static final String SELECT_UNHASHED_CARDS = "SELECT card_id, question FROM card " +
+            "WHERE question_hash IS NULL AND question IS NOT NULL AND card_id > ? ORDER BY card_id LIMIT ?";
+    private static final String UPDATE_QUESTION_HASH =
+            "UPDATE card SET question_hash = ? WHERE card_id = ? AND question_hash IS NULL";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${app.cards.migrateQuestionHashes:true}")
+    private boolean enabled;
+
+    @Autowired
+    public QuestionHashMigration(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (enabled) {
+            Thread thread = new Thread(this::migrate, "question-hash-migration");
+            thread.setDaemon(true);
+            thread.start();
+        }
+    }
+
+    private void migrate() {
+        long lastCardId = 0;
+        int hashed = 0;
+        try {
+            List<Object[]> rows;
+            do {
+                List<Object[]> cards = jdbcTemplate.query(SELECT_UNHASHED_CARDS, (resultSet, rowNum) ->
+                        new Object[]{resultSet.getLong(1), resultSet.getString(2)}, lastCardId, BATCH_SIZE);
+                rows = new ArrayList<>(cards.size());
+                for (Object[] card : cards) {
+                    rows.add(new Object[]{Card.hashQuestion((String) card[1]), card[0]});
+                    lastCardId = (Long) card[0];
+                }
+                if (!rows.isEmpty()) {
+                    jdbcTemplate.batchUpdate(UPDATE_QUESTION_HASH, rows);
+                    hashed += rows.size();
+                }
+            } while (rows.size() == BATCH_SIZE);
+        } catch (DataAccessException e) {
+            LOGGER.error("Failed to hash the questions of cards after id {}", lastCardId, e);
+        }
+        if (hashed > 0) {
+            LOGGER.info("Hashed the questions of {} cards", hashed);
+        }
+    }
+}
@@ -20,17 +20,14 @@ public class SqliteConnector implements DbConnector {
     /**
      * Upload anki cards
      *
-     * @return - Connection
+     * @return - Connection, which has to be closed by the caller
      * @throws ClassNotFoundException - is dropping when classloader failed in loading Driver to uploading file.
      * @throws SQLException           - is dropping when file is not found.
      * @see AnkiCardUploader
      */
     @Override
     public Connection getConnection(String relativePath) throws ClassNotFoundException, SQLException {
-        Connection conn = null;
         Class.forName(DRIVER);
-        conn = DriverManager.getConnection(PATH + relativePath);
-        System.out.println("Connection to SQLite has been established.");
-        return conn;
+        return DriverManager.getConnection(PATH + relativePath);
     }
 }
@@ -9,6 +9,8 @@ import com.softserve.academy.spaced.repetition.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.Objects;
 
 @Service("accessToUrlService")
@@ -81,6 +83,13 @@ public class AccessToUrlServiceImpl implements AccessToUrlService {
         return (cardRepository.hasAccessToCard(deck_id, card_id).size() > 0);
     }
 
+    @Override
+    public boolean hasAccessToCards(Long deck_id, Collection<Long> card_ids) {
+        Collection<Long> distinctCardIds = new HashSet<>(card_ids);
+        return distinctCardIds.isEmpty() || !distinctCardIds.contains(null)
+                && cardRepository.countCardsOfDeck(deck_id, distinctCardIds) == distinctCardIds.size();
+    }
+
     @Override
     public boolean hasAccessToCard(Long category_id, Long deck_id, Long card_id) {
         return hasAccessToDeckFromCategory(category_id, deck_id)
@@ -7,9 +7,12 @@ import com.softserve.academy.spaced.repetition.domain.enums.LearningRegime;
 import com.softserve.academy.spaced.repetition.utils.exceptions.NotAuthorisedUserException;
 import com.softserve.academy.spaced.repetition.repository.AccountRepository;
 import com.softserve.academy.spaced.repetition.repository.RememberingLevelRepository;
+import com.softserve.academy.spaced.repetition.repository.UserCardQueueRepository;
+import com.softserve.academy.spaced.repetition.security.JwtRevocationCache;
 import com.softserve.academy.spaced.repetition.service.AccountService;
 import com.softserve.academy.spaced.repetition.service.MailService;
 import com.softserve.academy.spaced.repetition.service.UserService;
+import com.softserve.academy.spaced.repetition.service.cache.RememberingLevelCache;
 import com.softserve.academy.spaced.repetition.utils.validators.NumberOfPostponedDaysValidator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -32,18 +35,27 @@ public class AccountServiceImpl implements AccountService {
     private final NumberOfPostponedDaysValidator numberOfPostponedDaysValidator;
     private final MailService mailService;
     private final PasswordEncoder passwordEncoder;
+    private final JwtRevocationCache jwtRevocationCache;
+    private final RememberingLevelCache rememberingLevelCache;
+    private final UserCardQueueRepository userCardQueueRepository;
 
     @Autowired
     public AccountServiceImpl(AccountRepository accountRepository,
                               RememberingLevelRepository rememberingLevelRepository,
                               UserService userService, NumberOfPostponedDaysValidator numberOfPostponedDaysValidator,
-                              MailService mailService, PasswordEncoder passwordEncoder) {
+                              MailService mailService, PasswordEncoder passwordEncoder,
+                              JwtRevocationCache jwtRevocationCache,
+                              RememberingLevelCache rememberingLevelCache,
+                              UserCardQueueRepository userCardQueueRepository) {
         this.accountRepository = accountRepository;
         this.rememberingLevelRepository = rememberingLevelRepository;
         this.userService = userService;
         this.numberOfPostponedDaysValidator = numberOfPostponedDaysValidator;
         this.mailService = mailService;
         this.passwordEncoder = passwordEncoder;
+        this.jwtRevocationCache = jwtRevocationCache;
+        this.rememberingLevelCache = rememberingLevelCache;
+        this.userCardQueueRepository = userCardQueueRepository;
     }
 
     @Override
@@ -70,9 +82,14 @@ public class AccountServiceImpl implements AccountService {
 
         LearningRegime regime = LearningRegime.valueOf(learningRegime);
 
-        Account account = accountRepository.findOne(userService.getAuthorizedUser().getAccount().getId());
-        account.setLearningRegime(regime);
-        accountRepository.save(account);
+        User user = userService.getAuthorizedUser();
+        Account account = accountRepository.findOne(user.getAccount().getId());
+        if (account.getLearningRegime() != regime) {
+            account.setLearningRegime(regime);
+            accountRepository.save(account);
+            // the scheduler state of every card was written by the algorithm of the previous regime
+            userCardQueueRepository.resetSchedulerStates(user.getId());
+        }
     }
 
     @Override
@@ -105,6 +122,7 @@ public class AccountServiceImpl implements AccountService {
         numberOfPostponedDaysValidator.validate(rememberingLevel, numberOfPostponedDays);
         rememberingLevel.setNumberOfPostponedDays(numberOfPostponedDays);
         rememberingLevelRepository.save(rememberingLevel);
+        rememberingLevelCache.evict(rememberingLevel.getAccount().getId());
     }
 
     @Override
@@ -126,6 +144,7 @@ public class AccountServiceImpl implements AccountService {
         account.setPassword(passwordEncoder.encode(newPassword));
         account.setLastPasswordResetDate(new Date());
         accountRepository.save(account);
+        jwtRevocationCache.revoke(email);
     }
 
     @Override
@@ -2,14 +2,18 @@ package com.softserve.academy.spaced.repetition.service.impl;
 
 
 import com.softserve.academy.spaced.repetition.domain.Audit;
+import com.softserve.academy.spaced.repetition.domain.AuditHourlyCount;
+import com.softserve.academy.spaced.repetition.repository.AuditHourlyCountRepository;
 import com.softserve.academy.spaced.repetition.repository.AuditRepository;
 import com.softserve.academy.spaced.repetition.service.AuditService;
+import com.softserve.academy.spaced.repetition.utils.audit.AuditingAction;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 
+import java.util.Date;
 import java.util.List;
 
 @Service
@@ -17,78 +21,35 @@ public class AuditServiceImpl implements AuditService {
 
     @Autowired
     private AuditRepository auditRepository;
-    public final static int QUANTITY_AUDIT_IN_PAGE = 10;
-
-    @Override
-    public List<Audit> getFullAuditList() {
-        List<Audit> auditList = auditRepository.findAll();
-        return auditList;
-    }
-
-    @Override
-    public List<Audit> getAuditListSortedByAccountEmailAsc() {
-        List<Audit> auditList = auditRepository.findAllByOrderByAccountEmail();
-        return auditList;
-    }
-
-    @Override
-    public List<Audit> getAuditListSortedByAccountEmailDesc() {
-        List<Audit> auditList = auditRepository.findAllByOrderByAccountEmailDesc();
-        return auditList;
-    }
-
-    @Override
-    public List<Audit> getAuditListSortedByActionAsc() {
-        List<Audit> auditList = auditRepository.findAllByOrderByAction();
-        return auditList;
-    }
-
-    @Override
-    public List<Audit> getAuditListSortedByActionAscDesc() {
-        List<Audit> auditList = auditRepository.findAllByOrderByActionDesc();
-        return auditList;
-    }
-
-    @Override
-    public List<Audit> getAuditListSortedByIpAddressAsc() {
-        List<Audit> auditList = auditRepository.findAllByOrderByIpAddress();
-        return auditList;
-    }
 
-    @Override
-    public List<Audit> getAuditListSortedByIpAddressDesc() {
-        List<Audit> auditList = auditRepository.findAllByOrderByIpAddressDesc();
-        return auditList;
-    }
-
-    @Override
-    public List<Audit> getAuditListSortedByTimeAsc() {
-        List<Audit> auditList = auditRepository.findAllByOrderByTime();
-        return auditList;
-    }
+    @Autowired
+    private AuditHourlyCountRepository auditHourlyCountRepository;
 
-    @Override
-    public List<Audit> getAuditListSortedByTimeDesc() {
-        List<Audit> auditList = auditRepository.findAllByOrderByTimeDesc();
-        return auditList;
-    }
+    public final static int QUANTITY_AUDIT_IN_PAGE = 10;
+    public final static int MAX_AUDIT_IN_PAGE = 100;
 
     @Override
-    public List<Audit> getAuditListSortedByRoleAsc() {
-        List<Audit> auditList = auditRepository.findAllByOrderByRole();
-        return auditList;
+    public Page<Audit> getAuditByPage(int pageNumber, String sortBy, boolean ascending) {
+        PageRequest request = new PageRequest(pageNumber - 1, QUANTITY_AUDIT_IN_PAGE,
+                ascending ? Sort.Direction.ASC : Sort.Direction.DESC, sortBy);
+        return auditRepository.findAll(request);
     }
 
+    /**
+     * Keyset pagination: returns the audit records written before the record with beforeId,
+     * newest first, so a page is read from the index no matter how deep it is.
+     */
     @Override
-    public List<Audit> getAuditListSortedByRoleDesc() {
-        List<Audit> auditList = auditRepository.findAllByOrderByRoleDesc();
-        return auditList;
+    public List<Audit> getAuditBefore(Long beforeId, String accountEmail, AuditingAction action, String ipAddress,
+                                      Date from, Date to, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_AUDIT_IN_PAGE));
+        return auditRepository.findAuditBefore(beforeId, accountEmail, action, ipAddress, from, to,
+                new PageRequest(0, pageSize));
     }
 
     @Override
-    public Page<Audit> getAuditByPage(int pageNumber, String sortBy, boolean ascending) {
-        PageRequest request = new PageRequest(pageNumber - 1, QUANTITY_AUDIT_IN_PAGE,
-                ascending ? Sort.Direction.ASC : Sort.Direction.DESC, sortBy);
-        return auditRepository.findAll(request);
+    public List<AuditHourlyCount> getHourlyCounts(Date from, Date to) {
+        return auditHourlyCountRepository
+                .findAllByHourStartGreaterThanEqualAndHourStartLessThanOrderByHourStart(from, to);
     }
 }
@@ -0,0 +1,245 @@
+package com.softserve.academy.spaced.repetition.service.impl;
+
+import com.softserve.academy.spaced.repetition.controller.utils.dto.CardFileDTO;
+import com.softserve.academy.spaced.repetition.domain.Card;
+import com.softserve.academy.spaced.repetition.domain.CardImportJob;
+import com.softserve.academy.spaced.repetition.domain.enums.CardImportJobStatus;
+import com.softserve.academy.spaced.repetition.repository.CardImportJobRepository;
+import com.softserve.academy.spaced.repetition.service.CardImportService;
+import com.softserve.academy.spaced.repetition.service.DeckService;
+import com.softserve.academy.spaced.repetition.service.UserService;
+import com.softserve.academy.spaced.repetition.service.cardLoaders.CardYamlReader;
+import com.softserve.academy.spaced.repetition.utils.exceptions.EmptyFileException;
+import com.softserve.academy.spaced.repetition.utils.exceptions.NotAuthorisedUserException;
+import com.softserve.academy.spaced.repetition.utils.exceptions.NotOwnerOperationException;
+import com.softserve.academy.spaced.repetition.utils.exceptions.WrongFormatException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.ClosedByInterruptException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Imports cards from YAML files in the background. The uploaded file is kept until the job ends, the cards are
+ * validated in a first streaming pass and inserted in JDBC batches in a second one. Every batch is committed
+ * together with the job progress, so a job interrupted by a restart resumes after the last committed batch.
+ * On shutdown running jobs stop after their current batch and keep their file and RUNNING status.
+ */
+@Service
+public class CardImportServiceImpl implements CardImportService {
+    private static final Logger LOGGER = LoggerFactory.getLogger(CardImportServiceImpl.class);
+    private static final String CARDS_FILE_CONTENT_TYPE = "application/octet-stream";
+    private static final String EMPTY_FIELDS_MESSAGE = "All of card fields must be filled";
+    private static final String INSERT_CARD =
+            "INSERT INTO card (title, question, answer, question_hash, rating, deck_id) VALUES (?, ?, ?, ?, 0, ?)";
+    private static final String UPDATE_PROGRESS =
+            "UPDATE card_import_job SET processed_cards = ? WHERE card_import_job_id = ?";
+
+    private final CardImportJobRepository cardImportJobRepository;
+    private final DeckService deckService;
+    private final UserService userService;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private ExecutorService executor;
+    private volatile boolean stopping;
+
+    @Value("${app.cards.import.path:imports}")
+    private String importPath;
+
+    @Value("${app.cards.import.batchSize:500}")
+    private int batchSize;
+
+    @Value("${app.cards.import.threads:1}")
+    private int threads;
+
+    @Value("${app.cards.import.shutdownTimeout:10000}")
+    private long shutdownTimeout;
+
+    @Autowired
+    public CardImportServiceImpl(CardImportJobRepository cardImportJobRepository, DeckService deckService,
+                                 UserService userService, JdbcTemplate jdbcTemplate,
+                                 PlatformTransactionManager transactionManager) {
+        this.cardImportJobRepository = cardImportJobRepository;
+        this.deckService = deckService;
+        this.userService = userService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @PostConstruct
+    public void init() {
+        executor = Executors.newFixedThreadPool(threads);
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        stopping = true;
+        executor.shutdown();
+        if (!executor.awaitTermination(shutdownTimeout, TimeUnit.MILLISECONDS)) {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Resumes jobs that were queued or running when the application stopped.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeImports() {
+        List<CardImportJob> jobs = cardImportJobRepository.findAllByStatusInOrderById(
+                Arrays.asList(CardImportJobStatus.QUEUED, CardImportJobStatus.RUNNING));
+        for (CardImportJob job : jobs) {
+            LOGGER.info("Resuming import of cards job {} from card {}", job.getId(), job.getProcessedCards());
+            executor.execute(() -> runImport(job.getId()));
+        }
+    }
+
+    @Override
+    public CardImportJob startImport(MultipartFile cardsFile, Long deckId) throws WrongFormatException,
+            EmptyFileException, NotOwnerOperationException, NotAuthorisedUserException, IOException {
+        deckService.getDeckUser(deckId);
+        if (!CARDS_FILE_CONTENT_TYPE.equals(cardsFile.getContentType())) {
+            throw new WrongFormatException();
+        } else if (cardsFile.isEmpty()) {
+            throw new EmptyFileException("File is empty!");
+        }
+        Path directory = Files.createDirectories(Paths.get(importPath));
+        Path file = Files.createTempFile(directory, "cards-", ".yml");
+        try (InputStream in = cardsFile.getInputStream()) {
+            Files.copy(in, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+        CardImportJob job = cardImportJobRepository.save(
+                new CardImportJob(deckId, userService.getAuthorizedUser().getId(), file.toString()));
+        executor.execute(() -> runImport(job.getId()));
+        return job;
+    }
+
+    @Override
+    public CardImportJob getImportJob(Long jobId) throws NotAuthorisedUserException {
+        return cardImportJobRepository.findByIdAndUserId(jobId, userService.getAuthorizedUser().getId());
+    }
+
+    private void runImport(Long jobId) {
+        if (stopping) {
+            return;
+        }
+        CardImportJob job = cardImportJobRepository.findOne(jobId);
+        Path file = Paths.get(job.getFilePath());
+        try {
+            if (job.getTotalCards() == null) {
+                job.setTotalCards(validate(file));
+            }
+            job.setStatus(CardImportJobStatus.RUNNING);
+            job = cardImportJobRepository.save(job);
+            insertCards(job, file);
+            job.setStatus(CardImportJobStatus.COMPLETED);
+        } catch (ImportStoppedException e) {
+            LOGGER.info("Import of cards job {} stopped, it is resumed on the next start", jobId);
+            return;
+        } catch (IllegalArgumentException | IOException e) {
+            if (isInterrupted(e)) {
+                LOGGER.info("Import of cards job {} interrupted, it is resumed on the next start", jobId);
+                return;
+            }
+            job.setStatus(CardImportJobStatus.FAILED);
+            job.setError(e.getMessage());
+        } catch (RuntimeException e) {
+            if (isInterrupted(e)) {
+                LOGGER.info("Import of cards job {} interrupted, it is resumed on the next start", jobId);
+                return;
+            }
+            LOGGER.error("Import of cards job {} failed", jobId, e);
+            job.setStatus(CardImportJobStatus.FAILED);
+            job.setError("Import failed");
+        }
+        job.setProcessedCards(cardImportJobRepository.findOne(jobId).getProcessedCards());
+        cardImportJobRepository.save(job);
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            LOGGER.warn("Failed to delete imported cards file {}", file, e);
+        }
+    }
+
+    private int validate(Path file) throws IOException, ImportStoppedException {
+        int cardNumber = 0;
+        try (CardYamlReader cards = new CardYamlReader(Files.newInputStream(file))) {
+            while (cards.hasNext()) {
+                checkStopping();
+                CardFileDTO card = cards.next();
+                cardNumber++;
+                if (isBlank(card.getTitle()) || isBlank(card.getQuestion()) || isBlank(card.getAnswer())) {
+                    throw new IllegalArgumentException(EMPTY_FIELDS_MESSAGE + " (card " + cardNumber + ")");
+                }
+            }
+        }
+        return cardNumber;
+    }
+
+    private void insertCards(CardImportJob job, Path file) throws IOException, ImportStoppedException {
+        int processedCards = job.getProcessedCards();
+        try (CardYamlReader cards = new CardYamlReader(Files.newInputStream(file))) {
+            for (int skipped = 0; skipped < processedCards && cards.hasNext(); skipped++) {
+                cards.next();
+            }
+            List<Object[]> batch = new ArrayList<>(batchSize);
+            while (cards.hasNext()) {
+                CardFileDTO card = cards.next();
+                batch.add(new Object[]{card.getTitle(), card.getQuestion(), card.getAnswer(),
+                        Card.hashQuestion(card.getQuestion()), job.getDeckId()});
+                if (batch.size() == batchSize || !cards.hasNext()) {
+                    checkStopping();
+                    processedCards += batch.size();
+                    insertBatch(job.getId(), batch, processedCards);
+                    batch.clear();
+                }
+            }
+        }
+    }
+
+    private void insertBatch(Long jobId, List<Object[]> batch, int processedCards) {
+        transactionTemplate.execute(status -> {
+            jdbcTemplate.batchUpdate(INSERT_CARD, batch);
+            jdbcTemplate.update(UPDATE_PROGRESS, processedCards, jobId);
+            return null;
+        });
+    }
+
+    private boolean isBlank(String value) {
+        return value == null || value.trim().isEmpty();
+    }
+
+    private void checkStopping() throws ImportStoppedException {
+        if (stopping) {
+            throw new ImportStoppedException();
+        }
+    }
+
+    private boolean isInterrupted(Exception e) {
+        return e instanceof ClosedByInterruptException || Thread.currentThread().isInterrupted();
+    }
+
+    private static final class ImportStoppedException extends Exception {
+    }
+}
@@ -1,6 +1,5 @@
 package com.softserve.academy.spaced.repetition.service.impl;
 
-import com.softserve.academy.spaced.repetition.domain.Card;
 import com.softserve.academy.spaced.repetition.domain.CardRating;
 import com.softserve.academy.spaced.repetition.domain.User;
 import com.softserve.academy.spaced.repetition.utils.exceptions.NotAuthorisedUserException;
@@ -9,8 +8,11 @@ import com.softserve.academy.spaced.repetition.repository.CardRepository;
 import com.softserve.academy.spaced.repetition.repository.DeckRepository;
 import com.softserve.academy.spaced.repetition.service.CardRatingService;
 import com.softserve.academy.spaced.repetition.service.UserService;
+import com.softserve.academy.spaced.repetition.service.rating.RatedEntity;
+import com.softserve.academy.spaced.repetition.service.rating.RatingAccumulator;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
 public class CardRatingServiceImpl implements CardRatingService {
@@ -27,22 +29,27 @@ public class CardRatingServiceImpl implements CardRatingService {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private RatingAccumulator ratingAccumulator;
+
     @Override
+    @Transactional
     public void addCardRating(CardRating cardRating, Long cardId) throws NotAuthorisedUserException {
         User user = userService.getAuthorizedUser();
         String email = user.getAccount().getEmail();
         CardRating cardRatingByAccountEmail = cardRatingRepository
                 .findCardRatingByAccountEmailAndCard_Id(email, cardId);
+        long delta = cardRating.getRating();
+        int countDelta = 1;
         if (cardRatingByAccountEmail != null) {
             cardRating.setId(cardRatingByAccountEmail.getId());
+            delta -= cardRatingByAccountEmail.getRating();
+            countDelta = 0;
         }
-        Card card = cardRepository.findOne(cardId);
         cardRating.setAccountEmail(email);
-        cardRating.setCard(card);
+        cardRating.setCard(cardRepository.findOne(cardId));
         cardRatingRepository.save(cardRating);
-        double cardAverageRating = cardRatingRepository.findRatingByCard_Id(cardId);
-        card.setRating(cardAverageRating);
-        cardRepository.save(card);
+        ratingAccumulator.add(RatedEntity.CARD, cardId, delta, countDelta);
     }
 
     @Override
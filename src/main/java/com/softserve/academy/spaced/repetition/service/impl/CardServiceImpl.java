@@ -4,31 +4,33 @@ import com.softserve.academy.spaced.repetition.domain.Card;
 import com.softserve.academy.spaced.repetition.domain.Deck;
 import com.softserve.academy.spaced.repetition.domain.enums.LearningRegime;
 import com.softserve.academy.spaced.repetition.domain.User;
-import com.softserve.academy.spaced.repetition.controller.utils.dto.CardFileDTO;
-import com.softserve.academy.spaced.repetition.controller.utils.dto.CardFileDTOList;
-import com.softserve.academy.spaced.repetition.utils.exceptions.EmptyFileException;
 import com.softserve.academy.spaced.repetition.utils.exceptions.NotAuthorisedUserException;
-import com.softserve.academy.spaced.repetition.utils.exceptions.NotOwnerOperationException;
-import com.softserve.academy.spaced.repetition.utils.exceptions.WrongFormatException;
 import com.softserve.academy.spaced.repetition.repository.CardRepository;
 import com.softserve.academy.spaced.repetition.repository.DeckRepository;
 import com.softserve.academy.spaced.repetition.service.*;
 import com.softserve.academy.spaced.repetition.service.UserCardQueueService;
+import com.softserve.academy.spaced.repetition.service.cache.CatalogCache;
+import com.softserve.academy.spaced.repetition.service.cache.DueCardIndex;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.FileCopyUtils;
-import org.springframework.web.multipart.MultipartFile;
 import org.yaml.snakeyaml.DumperOptions;
 import org.yaml.snakeyaml.Yaml;
-import org.yaml.snakeyaml.constructor.ConstructorException;
-import org.yaml.snakeyaml.parser.ParserException;
 
 import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.util.*;
 
 @Service
 public class CardServiceImpl implements CardService {
+    private static final String CARDS_FILE_HEADER = "'cards':\n";
+    private static final String SELECT_DECK_CARDS = "SELECT title, question, answer FROM card WHERE deck_id = ?";
 
     private final CardRepository cardRepository;
 
@@ -42,16 +44,25 @@ public class CardServiceImpl implements CardService {
 
     private final DeckService deckService;
 
+    private final DueCardIndex dueCardIndex;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${app.cards.export.fetchSize:100}")
+    private int exportFetchSize;
+
     @Autowired
     public CardServiceImpl(CardRepository cardRepository, DeckRepository deckRepository, AccountService accountService,
                            UserService userService, UserCardQueueService userCardQueueService,
-                           DeckService deckService) {
+                           DeckService deckService, DueCardIndex dueCardIndex, JdbcTemplate jdbcTemplate) {
         this.cardRepository = cardRepository;
         this.deckRepository = deckRepository;
         this.userService = userService;
         this.accountService = accountService;
         this.userCardQueueService = userCardQueueService;
         this.deckService = deckService;
+        this.dueCardIndex = dueCardIndex;
+        this.jdbcTemplate = jdbcTemplate;
     }
 
     @Override
@@ -62,14 +73,17 @@ public class CardServiceImpl implements CardService {
             final int cardsNumber = accountService.getCardsNumber();
             List<Card> learningCards = new ArrayList<>();
             if (user.getAccount().getLearningRegime().equals(LearningRegime.BAD_NORMAL_GOOD_STATUS_DEPENDING)) {
-                learningCards = cardRepository.cardsForLearningWithOutStatus(user.getId(), deckId, cardsNumber);
+                learningCards = cardRepository.getNewCards(deckId, user.getId(), cardsNumber);
                 if (learningCards.size() < cardsNumber) {
                     learningCards.addAll(cardRepository.cardsQueueForLearningWithStatus(user.getId(), deckId,
                             cardsNumber - learningCards.size()));
                 }
-            } else if (user.getAccount().getLearningRegime()
-                    .equals(LearningRegime.CARDS_POSTPONING_USING_SPACED_REPETITION)) {
-                learningCards = cardRepository.getCardsThatNeedRepeating(deckId, new Date(), user.getId(), cardsNumber);
+            } else {
+                List<Long> dueCardIds = dueCardIndex.getDueCardIds(user.getId(), deckId, new Date(), cardsNumber);
+                if (!dueCardIds.isEmpty()) {
+                    // findAll returns the rows in any order, the index returns them by date to repeat
+                    learningCards.addAll(CatalogCache.inRankOrder(dueCardIds, cardRepository.findAll(dueCardIds)));
+                }
                 if (learningCards.size() < cardsNumber) {
                     learningCards.addAll(cardRepository
                             .getNewCards(deckId, user.getId(), cardsNumber - learningCards.size()));
@@ -112,7 +126,7 @@ public class CardServiceImpl implements CardService {
     public List<Card> getCardsQueue(long deckId) throws NotAuthorisedUserException {
         User user = userService.getAuthorizedUser();
         final int cardsNumber = accountService.getCardsNumber();
-        List<Card> cardsQueue = cardRepository.cardsForLearningWithOutStatus(user.getId(), deckId, cardsNumber);
+        List<Card> cardsQueue = cardRepository.getNewCards(deckId, user.getId(), cardsNumber);
 
         if (cardsQueue.size() < cardsNumber) {
             cardsQueue.addAll(cardRepository.cardsQueueForLearningWithStatus(user.getId(), deckId, cardsNumber)
@@ -143,51 +157,39 @@ public class CardServiceImpl implements CardService {
                 !cardRepository.getNewCards(deckId, user.getId(), user.getAccount().getCardsNumber()).isEmpty();
     }
 
-    @Override
-    @Transactional
-    public void uploadCards(MultipartFile cardsFile, Long deckId) throws WrongFormatException, EmptyFileException,
-            NotOwnerOperationException, NotAuthorisedUserException, IOException {
-        if (deckService.getDeckUser(deckId) != null) {
-            if (!cardsFile.getContentType().equals("application/octet-stream")) {
-                throw new WrongFormatException();
-            } else if (cardsFile.isEmpty()) {
-                throw new EmptyFileException("File is empty!");
-            }
-            Yaml yaml = new Yaml();
-            InputStream in = cardsFile.getInputStream();
-            try {
-                CardFileDTOList cards = yaml.loadAs(in, CardFileDTOList.class);
-                for (CardFileDTO card : cards.getCards()) {
-                    addCard(new Card(card.getQuestion(), card.getAnswer(), card.getTitle()), deckId);
-                }
-            } catch (ParserException | ConstructorException ex) {
-                throw new IllegalArgumentException("Invalid format of file!");
-            }
-        }
-    }
-
+    /**
+     * Writes cards of the deck as YAML while they are read from a forward-only cursor,
+     * so only the current card is kept in memory.
+     */
     @Override
     public void downloadCards(Long deckId, OutputStream outputStream) {
-        List<Map<String, String>> list = new ArrayList<>();
-        cardRepository.findAllByDeckId(deckId).forEach(card -> {
-            Map<String, String> cardMap = new HashMap<>();
-            cardMap.put("title", card.getTitle());
-            cardMap.put("question", card.getQuestion());
-            cardMap.put("answer", card.getAnswer());
-            list.add(cardMap);
-        });
         DumperOptions options = new DumperOptions();
         options.setDefaultFlowStyle(DumperOptions.FlowStyle.BLOCK);
         options.setDefaultScalarStyle(DumperOptions.ScalarStyle.SINGLE_QUOTED);
         options.setPrettyFlow(true);
-        Map cardsMap = Collections.singletonMap("cards", list);
         Yaml yaml = new Yaml(options);
-        try (Writer out = new BufferedWriter(new OutputStreamWriter(outputStream))) {
-            yaml.dump(cardsMap, out);
-        } catch (IOException ex) {
+        try (Writer out = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8))) {
+            out.write(CARDS_FILE_HEADER);
+            jdbcTemplate.query(connection -> {
+                PreparedStatement statement = connection.prepareStatement(SELECT_DECK_CARDS,
+                        ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                statement.setFetchSize(exportFetchSize);
+                statement.setLong(1, deckId);
+                return statement;
+            }, (RowCallbackHandler) resultSet -> {
+                Map<String, String> cardMap = new LinkedHashMap<>();
+                cardMap.put("title", resultSet.getString("title"));
+                cardMap.put("question", resultSet.getString("question"));
+                cardMap.put("answer", resultSet.getString("answer"));
+                try {
+                    out.write(yaml.dump(Collections.singletonList(cardMap)));
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            });
+        } catch (IOException | UncheckedIOException ex) {
             throw new IllegalArgumentException("Dumping of file failed!");
         }
-
     }
 
     @Override
@@ -1,6 +1,5 @@
 package com.softserve.academy.spaced.repetition.service.impl;
 
-import com.softserve.academy.spaced.repetition.domain.Course;
 import com.softserve.academy.spaced.repetition.domain.CourseRating;
 import com.softserve.academy.spaced.repetition.domain.User;
 import com.softserve.academy.spaced.repetition.utils.exceptions.NotAuthorisedUserException;
@@ -9,6 +8,8 @@ import com.softserve.academy.spaced.repetition.repository.CourseRatingRepository
 import com.softserve.academy.spaced.repetition.repository.CourseRepository;
 import com.softserve.academy.spaced.repetition.service.CourseRatingService;
 import com.softserve.academy.spaced.repetition.service.UserService;
+import com.softserve.academy.spaced.repetition.service.rating.RatedEntity;
+import com.softserve.academy.spaced.repetition.service.rating.RatingAccumulator;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -25,6 +26,9 @@ public class CourseRatingServiceImpl implements CourseRatingService {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private RatingAccumulator ratingAccumulator;
+
     @Override
     @Transactional
     public void addCourseRating(int rating, Long courseId) throws NotAuthorisedUserException, UserStatusException {
@@ -32,17 +36,19 @@ public class CourseRatingServiceImpl implements CourseRatingService {
         userService.isUserStatusActive(user);
         String email = user.getAccount().getEmail();
         CourseRating courseRating = courseRatingRepository.findAllByAccountEmailAndCourse_Id(email, courseId);
+        long delta = rating;
+        int countDelta = 1;
         if (courseRating == null) {
             courseRating = new CourseRating();
+        } else {
+            delta -= courseRating.getRating();
+            countDelta = 0;
         }
-        Course course = courseRepository.findOne(courseId);
         courseRating.setAccountEmail(email);
-        courseRating.setCourse(course);
+        courseRating.setCourse(courseRepository.findOne(courseId));
         courseRating.setRating(rating);
         courseRatingRepository.save(courseRating);
-        double courseAverageRating = courseRatingRepository.findRatingByCourse_Id(courseId);
-        course.setRating(courseAverageRating);
-        courseRepository.save(course);
+        ratingAccumulator.add(RatedEntity.COURSE, courseId, delta, countDelta);
     }
 
     @Override
@@ -10,8 +10,10 @@ import com.softserve.academy.spaced.repetition.utils.exceptions.NotAuthorisedUse
 import com.softserve.academy.spaced.repetition.service.CourseService;
 import com.softserve.academy.spaced.repetition.service.ImageService;
 import com.softserve.academy.spaced.repetition.service.UserService;
+import com.softserve.academy.spaced.repetition.service.cache.CatalogCache;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
@@ -41,6 +43,8 @@ public class CourseServiceImpl implements CourseService {
 
     private DeckRepository deckRepository;
 
+    private CatalogCache catalogCache;
+
     @Autowired
     public void setCourseRepository(CourseRepository courseRepository) {
         this.courseRepository = courseRepository;
@@ -76,6 +80,11 @@ public class CourseServiceImpl implements CourseService {
         this.deckRepository = deckRepository;
     }
 
+    @Autowired
+    public void setCatalogCache(CatalogCache catalogCache) {
+        this.catalogCache = catalogCache;
+    }
+
     @Override
     public List<Course> getAllCourses() {
         return courseRepository.findAllByPublishedTrue();
@@ -102,24 +111,29 @@ public class CourseServiceImpl implements CourseService {
         Long imageId = course.getImage().getId();
         imageService.setImageStatusInUse(imageId);
         course.setCategory(new Category(category_id));
-        courseRepository.save(course);
+        catalogCache.refreshCourse(courseRepository.save(course).getId());
     }
 
     @Override
     public List<Course> getTopCourse() {
-        List<Course> courses = courseRepository.findTop4ByOrderByRating();
-        return courses;
+        List<Long> courseIds = catalogCache.getTopCourses(TOP_COURSES);
+        return CatalogCache.inRankOrder(courseIds, courseRepository.findAll(courseIds));
     }
 
     @Override
-    public List<Course> getAllOrderedCourses() {
-        return courseRepository.findAllByPublishedTrueOrderByRatingDesc();
+    public Page<Course> getOrderedCourses(int pageNumber) {
+        PageRequest request = new PageRequest(pageNumber - 1, QUANTITY_COURSES_IN_PAGE);
+        Page<Long> courseIds = catalogCache.getCoursePage(request);
+        List<Course> courses = CatalogCache.inRankOrder(courseIds.getContent(),
+                courseRepository.findAll(courseIds.getContent()));
+        return new PageImpl<>(courses, request, courseIds.getTotalElements());
     }
 
     @Override
     public void updateCourse(Long course_id, Course course) {
         course.setId(course_id);
         courseRepository.save(course);
+        catalogCache.refreshCourse(course_id);
     }
 
     @Override
@@ -136,6 +150,7 @@ public class CourseServiceImpl implements CourseService {
 
         userRepository.save(user);
         courseRepository.delete(course_id);
+        catalogCache.refreshCourse(course_id);
     }
 
     @Override
@@ -184,6 +199,7 @@ public class CourseServiceImpl implements CourseService {
         Course course = courseRepository.findOne(course_id);
         course.setPublished(courseAccess.isPublished());
         courseRepository.save(course);
+        catalogCache.refreshCourse(course_id);
     }
 
     @Override
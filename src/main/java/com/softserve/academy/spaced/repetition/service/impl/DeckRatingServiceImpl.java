@@ -3,11 +3,12 @@ package com.softserve.academy.spaced.repetition.service.impl;
 import com.softserve.academy.spaced.repetition.utils.exceptions.UserStatusException;
 import com.softserve.academy.spaced.repetition.service.DeckRatingService;
 import com.softserve.academy.spaced.repetition.service.UserService;
+import com.softserve.academy.spaced.repetition.service.rating.RatedEntity;
+import com.softserve.academy.spaced.repetition.service.rating.RatingAccumulator;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import com.softserve.academy.spaced.repetition.domain.Deck;
 import com.softserve.academy.spaced.repetition.domain.DeckRating;
 import com.softserve.academy.spaced.repetition.domain.User;
 import com.softserve.academy.spaced.repetition.utils.exceptions.NotAuthorisedUserException;
@@ -23,6 +24,8 @@ public class DeckRatingServiceImpl implements DeckRatingService{
 
     private UserService userService;
 
+    private RatingAccumulator ratingAccumulator;
+
     @Override
     @Transactional
     public void addDeckRating(int rating, Long deckId) throws NotAuthorisedUserException, UserStatusException {
@@ -30,17 +33,19 @@ public class DeckRatingServiceImpl implements DeckRatingService{
         userService.isUserStatusActive(user);
         String email = user.getAccount().getEmail();
         DeckRating deckRating = deckRatingRepository.findAllByAccountEmailAndDeckId(email, deckId);
+        long delta = rating;
+        int countDelta = 1;
         if (deckRating == null) {
             deckRating = new DeckRating();
+        } else {
+            delta -= deckRating.getRating();
+            countDelta = 0;
         }
-        Deck deck = deckRepository.findOne(deckId);
         deckRating.setAccountEmail(email);
-        deckRating.setDeck(deck);
+        deckRating.setDeck(deckRepository.findOne(deckId));
         deckRating.setRating(rating);
         deckRatingRepository.save(deckRating);
-        double deckAverageRating = deckRatingRepository.findRatingByDeckId(deckId);
-        deck.setRating(deckAverageRating);
-        deckRepository.save(deck);
+        ratingAccumulator.add(RatedEntity.DECK, deckId, delta, countDelta);
     }
 
     @Override
@@ -62,4 +67,9 @@ public class DeckRatingServiceImpl implements DeckRatingService{
     public void setUserService(UserService userService) {
         this.userService = userService;
     }
+
+    @Autowired
+    public void setRatingAccumulator(RatingAccumulator ratingAccumulator) {
+        this.ratingAccumulator = ratingAccumulator;
+    }
 }
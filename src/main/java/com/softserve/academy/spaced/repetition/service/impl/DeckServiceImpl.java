@@ -11,8 +11,10 @@ import com.softserve.academy.spaced.repetition.utils.exceptions.NotOwnerOperatio
 import com.softserve.academy.spaced.repetition.service.DeckService;
 import com.softserve.academy.spaced.repetition.service.FolderService;
 import com.softserve.academy.spaced.repetition.service.UserService;
+import com.softserve.academy.spaced.repetition.service.cache.CatalogCache;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
@@ -39,6 +41,8 @@ public class DeckServiceImpl implements DeckService {
 
     private FolderService folderService;
 
+    private CatalogCache catalogCache;
+
     @Autowired
     public void setDeckRepository(DeckRepository deckRepository) {
         this.deckRepository = deckRepository;
@@ -69,6 +73,11 @@ public class DeckServiceImpl implements DeckService {
         this.folderService = folderService;
     }
 
+    @Autowired
+    public void setCatalogCache(CatalogCache catalogCache) {
+        this.catalogCache = catalogCache;
+    }
+
     @Override
     public List<Deck> getAllDecks(Long courseId) {
         Course course = courseRepository.findOne(courseId);
@@ -82,8 +91,11 @@ public class DeckServiceImpl implements DeckService {
     }
 
     @Override
-    public List<Deck> getAllOrderedDecks() {
-        return deckRepository.findAllByOrderByRatingDesc();
+    public Page<Deck> getOrderedDecks(int pageNumber) {
+        PageRequest request = new PageRequest(pageNumber - 1, QUANTITY_DECKS_IN_PAGE);
+        Page<Long> deckIds = catalogCache.getDeckPage(request);
+        List<Deck> decks = CatalogCache.inRankOrder(deckIds.getContent(), deckRepository.findAll(deckIds.getContent()));
+        return new PageImpl<>(decks, request, deckIds.getTotalElements());
     }
 
     @Override
@@ -102,14 +114,18 @@ public class DeckServiceImpl implements DeckService {
     @Transactional
     public void addDeckToCategory(Deck deck, Long categoryId) {
         Category category = categoryRepository.findOne(categoryId);
-        category.getDecks().add(deckRepository.save(deck));
+        Deck savedDeck = deckRepository.save(deck);
+        category.getDecks().add(savedDeck);
+        catalogCache.putDeck(savedDeck.getId(), savedDeck.getRating());
     }
 
     @Override
     @Transactional
     public void addDeckToCourse(Deck deck, Long categoryId, Long courseId) {
         Course course = courseRepository.findOne(courseId);
-        course.getDecks().add(deckRepository.save(deck));
+        Deck savedDeck = deckRepository.save(deck);
+        course.getDecks().add(savedDeck);
+        catalogCache.putDeck(savedDeck.getId(), savedDeck.getRating());
     }
 
     @Override
@@ -136,6 +152,7 @@ public class DeckServiceImpl implements DeckService {
     @Transactional
     public void deleteDeck(Long deckId) {
         deckRepository.deleteDeckById(deckId);
+        catalogCache.removeDeck(deckId);
     }
 
     @Override
@@ -144,7 +161,8 @@ public class DeckServiceImpl implements DeckService {
         User user = userService.getAuthorizedUser();
         newDeck.setCategory(categoryRepository.findOne(categoryId));
         newDeck.setDeckOwner(user);
-        deckRepository.save(newDeck);
+        Deck savedDeck = deckRepository.save(newDeck);
+        catalogCache.putDeck(savedDeck.getId(), savedDeck.getRating());
     }
 
     @Override
@@ -158,6 +176,7 @@ public class DeckServiceImpl implements DeckService {
         deck.setDeckOwner(user);
         Deck savedDeck = deckRepository.save(deck);
         deck.setId(savedDeck.getId());
+        catalogCache.putDeck(savedDeck.getId(), savedDeck.getRating());
         return savedDeck;
     }
 
@@ -172,6 +191,7 @@ public class DeckServiceImpl implements DeckService {
         }
         if (deck.getDeckOwner().getId().equals(user.getId())) {
             deckRepository.delete(deck);
+            catalogCache.removeDeck(deckId);
         } else {
             throw new NotOwnerOperationException();
         }
@@ -10,13 +10,24 @@ import com.softserve.academy.spaced.repetition.utils.exceptions.NotOwnerOperatio
 import com.softserve.academy.spaced.repetition.repository.ImageRepository;
 import com.softserve.academy.spaced.repetition.service.ImageService;
 import com.softserve.academy.spaced.repetition.service.UserService;
+import com.softserve.academy.spaced.repetition.service.cache.ImageContentCache;
+import com.softserve.academy.spaced.repetition.service.storage.ImageContent;
+import com.softserve.academy.spaced.repetition.service.storage.ImageStore;
+import com.softserve.academy.spaced.repetition.service.storage.ImageTypes;
+import com.softserve.academy.spaced.repetition.service.storage.ImageVariant;
+import com.softserve.academy.spaced.repetition.service.storage.ImageVariantStore;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
 import org.springframework.stereotype.Service;
+import org.springframework.util.StreamUtils;
 import org.springframework.web.multipart.MultipartException;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.util.List;
 
 /**
@@ -28,10 +39,18 @@ public class ImageServiceImpl implements ImageService {
     private UserService userService;
     @Autowired
     private ImageRepository imageRepository;
+    @Autowired
+    private ImageStore imageStore;
+    @Autowired
+    private ImageContentCache imageContentCache;
+    @Autowired
+    private ImageVariantStore imageVariantStore;
     @Value("${app.images.maxSize}")
     private Long maxFileSize;
     @Value("${app.images.userQuote}")
     private Long userQuote;
+    @Value("${app.images.variants.sizes:64,128,256,512,1024,2048}")
+    private int[] variantSizes;
 
     /**
      * Adds image to the database
@@ -47,8 +66,9 @@ public class ImageServiceImpl implements ImageService {
     public Image addImageToDB(MultipartFile file)
             throws ImageRepositorySizeQuotaExceededException, NotAuthorisedUserException {
         checkImageExtention(file);
-        Image image = new Image(encodeToBase64(file), file.getContentType(),
-                userService.getAuthorizedUser(), file.getSize());
+        byte[] content = readContent(file);
+        Image image = new Image(null, ImageTypes.detect(content), userService.getAuthorizedUser(), file.getSize());
+        image.setContentHash(imageStore.save(content));
         imageRepository.save(image);
         image = imageRepository.getImageWithoutContent(image.getId());
         return image;
@@ -65,34 +85,98 @@ public class ImageServiceImpl implements ImageService {
         }
         if (fileSize > maxFileSize) {
             throw new MultipartException("File upload error: file is too large.");
-        } else {
-            String imageType = file.getContentType();
-            if (imageType == null || !imageType.split("/")[0].equalsIgnoreCase("image")) {
-                throw new IllegalArgumentException("File upload error: file is not an image");
-            }
+        } else if (ImageTypes.detect(readContent(file)) == null) {
+            throw new IllegalArgumentException("File upload error: file is not an image");
+        }
+    }
+
+    private byte[] readContent(MultipartFile file) {
+        try {
+            return file.getBytes();
+        } catch (IOException e) {
+            throw new MultipartException("File upload error: file can not be read.", e);
         }
     }
 
 
     /**
-     * Gets decoded from Base64 image content by Image Id
+     * Gets stored image content by Image Id. Recently served images are taken from memory,
+     * image still kept as Base64 is moved to the image store first.
      *
      * @param id id of the image in the database
-     * @return String, which contains decoded image content
+     * @return image content or null if there is no such image
      */
     @Override
-    public byte[] getDecodedImageContentByImageId(Long id) {
-        byte[] imageContent = null;
-        List<Long> idList = imageRepository.getIdList();
-        for (Long existingId : idList) {
-            if (id.equals(existingId)) {
-                Image image = imageRepository.findImageById(id);
-                String encodedFileContent = image.getImagebase64();
-                imageContent = decodeFromBase64(encodedFileContent);
-                break;
+    public ImageContent getImageContent(Long id) {
+        ImageContent cachedContent = imageContentCache.get(id);
+        if (cachedContent != null) {
+            return cachedContent;
+        }
+        Image image = imageRepository.findImageById(id);
+        if (image == null) {
+            return null;
+        }
+        if (image.getContentHash() == null) {
+            if (image.getImagebase64() == null) {
+                return null;
             }
+            moveContentToImageStore(image);
+        }
+        Resource resource = imageStore.load(image.getContentHash());
+        if (resource == null) {
+            return null;
+        }
+        if (imageContentCache.isCacheable(image.getSize())) {
+            try (InputStream content = resource.getInputStream()) {
+                byte[] bytes = StreamUtils.copyToByteArray(content);
+                imageContentCache.put(id, image.getContentHash(), image.getType(), bytes);
+                resource = new ByteArrayResource(bytes);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to read image " + id, e);
+            }
+        }
+        return new ImageContent(image.getContentHash(), image.getType(), resource);
+    }
+
+    /**
+     * Gets resized and/or converted image content. The variant is made once and then served from the variant store.
+     *
+     * @param source content of the original image
+     * @param width  max width of the variant or null to keep the width
+     * @param height max height of the variant or null to keep the height
+     * @param format format of the variant (jpeg, png, gif) or null to keep the format
+     * @return variant content, or source content if no variant is requested or the source can not be resized
+     */
+    @Override
+    public ImageContent getImageVariant(ImageContent source, Integer width, Integer height, String format) {
+        ImageVariant variant = ImageVariant.of(width, height, format, source.getContentType(), variantSizes);
+        if (variant == null) {
+            return source;
+        }
+        Resource resource = imageVariantStore.getVariant(source.getContentHash(), source.getResource(), variant);
+        if (resource == null) {
+            return source;
+        }
+        return new ImageContent(source.getContentHash() + "-" + variant.getKey(), variant.getContentType(), resource);
+    }
+
+    /**
+     * Moves Base64 content of the image from the database to the image store
+     *
+     * @param id id of the image in the database
+     */
+    @Override
+    public void moveContentToImageStore(Long id) {
+        Image image = imageRepository.findImageById(id);
+        if (image != null && image.getContentHash() == null && image.getImagebase64() != null) {
+            moveContentToImageStore(image);
         }
-        return imageContent;
+    }
+
+    private void moveContentToImageStore(Image image) {
+        image.setContentHash(imageStore.save(decodeFromBase64(image.getImagebase64())));
+        image.setImagebase64(null);
+        imageRepository.save(image);
     }
 
     /**
@@ -166,6 +250,7 @@ public class ImageServiceImpl implements ImageService {
             throw new CanNotBeDeletedException();
         } else {
             imageRepository.delete(image);
+            imageContentCache.evict(id);
         }
     }
 
@@ -1,5 +1,6 @@
 package com.softserve.academy.spaced.repetition.service.impl;
 
+import com.softserve.academy.spaced.repetition.controller.utils.dto.CardReviewDTO;
 import com.softserve.academy.spaced.repetition.domain.*;
 import com.softserve.academy.spaced.repetition.domain.enums.LearningRegime;
 import com.softserve.academy.spaced.repetition.domain.enums.UserCardQueueStatus;
@@ -8,28 +9,63 @@ import com.softserve.academy.spaced.repetition.repository.RememberingLevelReposi
 import com.softserve.academy.spaced.repetition.repository.UserCardQueueRepository;
 import com.softserve.academy.spaced.repetition.service.UserCardQueueService;
 import com.softserve.academy.spaced.repetition.service.UserService;
+import com.softserve.academy.spaced.repetition.service.cache.DueCardIndex;
+import com.softserve.academy.spaced.repetition.service.cache.DueCountCache;
+import com.softserve.academy.spaced.repetition.service.cache.RememberingLevelCache;
+import com.softserve.academy.spaced.repetition.service.scheduling.CardScheduler;
+import com.softserve.academy.spaced.repetition.service.scheduling.CardSchedulers;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.Arrays;
-import java.util.Date;
+import java.util.*;
 
 import static com.softserve.academy.spaced.repetition.service.impl.AccountServiceImpl.NUMBER_OF_REMEMBERING_LEVELS;
 
 @Service
 public class UserCardQueueServiceImpl implements UserCardQueueService {
     private static final int DAY_IN_MILLISECONDS = 24 * 60 * 60 * 1000;
+    private static final String SELECT_REVIEWED_CARDS = "SELECT q.user_card_queue_id, q.card_id, q.deck_id, " +
+            "q.status, q.card_date, q.date_to_repeat, q.remembering_level_id, q.scheduler_state, l.order_number " +
+            "FROM user_card_queue q " +
+            "LEFT JOIN remembering_level l ON l.id = q.remembering_level_id WHERE q.user_id = ? AND q.card_id IN (%s)";
+    private static final String UPDATE_REVIEWED_CARD = "UPDATE user_card_queue SET status = ?, card_date = ?, " +
+            "date_to_repeat = ?, remembering_level_id = ?, scheduler_state = ? WHERE user_card_queue_id = ?";
+    private static final String SELECT_RECEIVED_EVENTS = "SELECT event_id FROM review_event " +
+            "WHERE user_id = ? AND event_id IN (%s)";
+    private static final String INSERT_EVENT = "INSERT INTO review_event (event_id, user_id, deck_id, card_id, " +
+            "status, answered_at, received_at) VALUES (?, ?, ?, ?, ?, ?, ?)";
+    private static final int MAX_EVENT_ID_LENGTH = 64;
     private final UserCardQueueRepository userCardQueueRepository;
     private final UserService userService;
     private final RememberingLevelRepository rememberingLevelRepository;
+    private final DueCardIndex dueCardIndex;
+    private final RememberingLevelCache rememberingLevelCache;
+    private final JdbcTemplate jdbcTemplate;
+    private final CardSchedulers cardSchedulers;
+    private final DueCountCache dueCountCache;
+
+    @Value("${app.learning.reviews.maxBatchSize:500}")
+    private int maxReviewsInBatch = 500;
 
     @Autowired
     public UserCardQueueServiceImpl(UserCardQueueRepository userCardQueueRepository, UserService userService,
-                                    RememberingLevelRepository rememberingLevelRepository) {
+                                    RememberingLevelRepository rememberingLevelRepository,
+                                    DueCardIndex dueCardIndex, RememberingLevelCache rememberingLevelCache,
+                                    JdbcTemplate jdbcTemplate, CardSchedulers cardSchedulers,
+                                    DueCountCache dueCountCache) {
         this.userCardQueueRepository = userCardQueueRepository;
         this.userService = userService;
         this.rememberingLevelRepository = rememberingLevelRepository;
+        this.dueCardIndex = dueCardIndex;
+        this.rememberingLevelCache = rememberingLevelCache;
+        this.jdbcTemplate = jdbcTemplate;
+        this.cardSchedulers = cardSchedulers;
+        this.dueCountCache = dueCountCache;
     }
 
     @Override
@@ -54,38 +90,229 @@ public class UserCardQueueServiceImpl implements UserCardQueueService {
             userCardQueue.setDeckId(deckId);
             userCardQueue.setUserId(user.getId());
         }
+        Date previousCardDate = userCardQueue.getCardDate();
+        Date previousDateToRepeat = userCardQueue.getDateToRepeat();
         userCardQueue.setCardDate(new Date());
 
-        if (user.getAccount().getLearningRegime() == LearningRegime.BAD_NORMAL_GOOD_STATUS_DEPENDING) {
+        LearningRegime learningRegime = user.getAccount().getLearningRegime();
+        CardScheduler scheduler = cardSchedulers.get(learningRegime);
+        if (learningRegime == LearningRegime.BAD_NORMAL_GOOD_STATUS_DEPENDING) {
             userCardQueue.setStatus(userCardQueueStatus);
-        } else if (user.getAccount().getLearningRegime() == LearningRegime.CARDS_POSTPONING_USING_SPACED_REPETITION) {
-            applyCardsPostponingLearningRegime(userCardQueue, userCardQueueStatus);
+        } else if (learningRegime == LearningRegime.CARDS_POSTPONING_USING_SPACED_REPETITION) {
+            applyCardsPostponingLearningRegime(userCardQueue, userCardQueueStatus, user.getAccount());
+        } else if (scheduler != null) {
+            long schedulerState = scheduler.review(userCardQueue.getSchedulerState(), userCardQueueStatus,
+                    getElapsedDays(previousCardDate, userCardQueue.getCardDate()));
+            userCardQueue.setSchedulerState(schedulerState);
+            userCardQueue.setDateToRepeat(getDateToRepeat(userCardQueue.getCardDate(), scheduler, schedulerState));
         }
         userCardQueueRepository.save(userCardQueue);
+        dueCardIndex.update(userCardQueue.getUserId(), userCardQueue.getDeckId(), cardId,
+                userCardQueue.getDateToRepeat());
+        dueCountCache.update(userCardQueue.getUserId(), userCardQueue.getDeckId(), previousDateToRepeat,
+                userCardQueue.getDateToRepeat());
+    }
+
+    private void applyCardsPostponingLearningRegime(UserCardQueue userCardQueue, UserCardQueueStatus status,
+                                                    Account account) {
+        RememberingLevel rememberingLevel = userCardQueue.getRememberingLevel();
+        RememberingLevelCache.Level level = getNextLevel(account,
+                rememberingLevel != null ? rememberingLevel.getOrderNumber() : null, status);
+        // a reference is enough to set the foreign key, the level itself is not loaded
+        userCardQueue.setRememberingLevel(rememberingLevelRepository.getOne(level.getId()));
+        userCardQueue.setDateToRepeat(getDateToRepeat(userCardQueue.getCardDate(), level));
+    }
+
+    @Override
+    @Transactional
+    public void updateUserCardQueues(Long deckId, List<CardReviewDTO> reviews) throws NotAuthorisedUserException {
+        List<CardReviewDTO> orderedReviews = orderReviews(reviews);
+        if (!orderedReviews.isEmpty()) {
+            applyReviews(deckId, orderedReviews, userService.getAuthorizedUser());
+        }
+    }
+
+    @Override
+    @Transactional
+    public int syncReviewLog(Long deckId, List<CardReviewDTO> events) throws NotAuthorisedUserException {
+        Map<String, CardReviewDTO> newEvents = new LinkedHashMap<>();
+        for (CardReviewDTO event : orderReviews(events)) {
+            String eventId = event.getEventId();
+            if (eventId == null || eventId.isEmpty() || eventId.length() > MAX_EVENT_ID_LENGTH) {
+                throw new IllegalArgumentException("Every event needs an id of at most " + MAX_EVENT_ID_LENGTH
+                        + " characters");
+            }
+            newEvents.putIfAbsent(eventId, event);
+        }
+        if (newEvents.isEmpty()) {
+            return 0;
+        }
+        User user = userService.getAuthorizedUser();
+        List<Object> arguments = new ArrayList<>(newEvents.size() + 1);
+        arguments.add(user.getId());
+        arguments.addAll(newEvents.keySet());
+        String placeholders = String.join(", ", Collections.nCopies(newEvents.size(), "?"));
+        newEvents.keySet().removeAll(jdbcTemplate.queryForList(String.format(SELECT_RECEIVED_EVENTS, placeholders),
+                String.class, arguments.toArray()));
+        Date receivedAt = new Date();
+        List<CardReviewDTO> receivedEvents = new ArrayList<>(newEvents.size());
+        for (CardReviewDTO event : newEvents.values()) {
+            try {
+                jdbcTemplate.update(INSERT_EVENT, event.getEventId(), user.getId(), deckId, event.getCardId(),
+                        event.getStatus().name(), event.getAnsweredAt(), receivedAt);
+                receivedEvents.add(event);
+            } catch (DuplicateKeyException e) {
+                // the same upload is being retried concurrently, the other request applies the event
+            }
+        }
+        return receivedEvents.isEmpty() ? 0 : applyReviews(deckId, receivedEvents, user);
+    }
+
+    /**
+     * Checks the reviews and orders them by the time of the answer; answers without time or from the future
+     * are taken as given now.
+     */
+    private List<CardReviewDTO> orderReviews(List<CardReviewDTO> reviews) {
+        if (reviews.size() > maxReviewsInBatch) {
+            throw new IllegalArgumentException("At most " + maxReviewsInBatch + " reviews can be sent at once");
+        }
+        Date now = new Date();
+        List<CardReviewDTO> orderedReviews = new ArrayList<>(reviews.size());
+        for (CardReviewDTO review : reviews) {
+            if (review.getCardId() == null || review.getStatus() == null) {
+                throw new IllegalArgumentException("Every review needs a card id and a status");
+            }
+            Date answeredAt = review.getAnsweredAt();
+            CardReviewDTO orderedReview = new CardReviewDTO(review.getCardId(), review.getStatus(),
+                    answeredAt == null || answeredAt.after(now) ? now : answeredAt);
+            orderedReview.setEventId(review.getEventId());
+            orderedReviews.add(orderedReview);
+        }
+        // a card answered more than once moves through the levels in the order of the answers
+        orderedReviews.sort(Comparator.comparing(CardReviewDTO::getAnsweredAt));
+        return orderedReviews;
+    }
+
+    /**
+     * Applies the reviews on top of the current queue. A review given before the last answer already applied to
+     * its card can not be merged into the history of the card and is skipped.
+     *
+     * @return number of the applied reviews
+     */
+    private int applyReviews(Long deckId, List<CardReviewDTO> orderedReviews, User user) {
+        Account account = user.getAccount();
+        CardScheduler scheduler = cardSchedulers.get(account.getLearningRegime());
+        Map<Long, ReviewedCard> cards = loadReviewedCards(user.getId(), orderedReviews);
+        int applied = 0;
+        for (CardReviewDTO review : orderedReviews) {
+            ReviewedCard card = cards.computeIfAbsent(review.getCardId(), cardId -> new ReviewedCard(deckId, cardId));
+            if (card.cardDate != null && review.getAnsweredAt().before(card.cardDate)) {
+                continue;
+            }
+            applied++;
+            int elapsedDays = getElapsedDays(card.cardDate, review.getAnsweredAt());
+            card.cardDate = review.getAnsweredAt();
+            if (account.getLearningRegime() == LearningRegime.BAD_NORMAL_GOOD_STATUS_DEPENDING) {
+                card.status = review.getStatus();
+            } else if (account.getLearningRegime() == LearningRegime.CARDS_POSTPONING_USING_SPACED_REPETITION) {
+                RememberingLevelCache.Level level = getNextLevel(account, card.orderNumber, review.getStatus());
+                card.rememberingLevelId = level.getId();
+                card.orderNumber = level.getOrderNumber();
+                card.dateToRepeat = getDateToRepeat(card.cardDate, level);
+            } else if (scheduler != null) {
+                card.schedulerState = scheduler.review(card.schedulerState, review.getStatus(), elapsedDays);
+                card.dateToRepeat = getDateToRepeat(card.cardDate, scheduler, card.schedulerState);
+            }
+        }
+        saveReviewedCards(user.getId(), cards.values());
+        for (ReviewedCard card : cards.values()) {
+            dueCardIndex.update(user.getId(), card.deckId, card.cardId, card.dateToRepeat);
+            dueCountCache.update(user.getId(), card.deckId, card.previousDateToRepeat, card.dateToRepeat);
+        }
+        return applied;
     }
 
-    private void applyCardsPostponingLearningRegime(UserCardQueue userCardQueue, UserCardQueueStatus status)
-            throws NotAuthorisedUserException {
-        final Account account = userService.getAuthorizedUser().getAccount();
-        RememberingLevel rememberingLevel =
-                rememberingLevelRepository.findRememberingLevelByAccountEqualsAndOrderNumber(account, 1);
-        if (userCardQueue.getRememberingLevel() != null) {
-            rememberingLevel = userCardQueue.getRememberingLevel();
+    private RememberingLevelCache.Level getNextLevel(Account account, Integer orderNumber,
+                                                     UserCardQueueStatus status) {
+        int nextOrderNumber = orderNumber != null ? orderNumber : 1;
+        if (status == UserCardQueueStatus.BAD && nextOrderNumber > 1) {
+            nextOrderNumber--;
+        } else if (status == UserCardQueueStatus.GOOD && nextOrderNumber < NUMBER_OF_REMEMBERING_LEVELS) {
+            nextOrderNumber++;
         }
+        return rememberingLevelCache.getLevel(account.getId(), nextOrderNumber);
+    }
+
+    private Date getDateToRepeat(Date cardDate, RememberingLevelCache.Level level) {
+        return new Date(cardDate.getTime() + level.getNumberOfPostponedDays() * DAY_IN_MILLISECONDS);
+    }
 
-        if (status == UserCardQueueStatus.BAD && rememberingLevel.getOrderNumber() > 1) {
-            userCardQueue.setRememberingLevel(rememberingLevelRepository
-                    .findRememberingLevelByAccountEqualsAndOrderNumber(account, rememberingLevel.getOrderNumber() - 1));
-        } else if (status == UserCardQueueStatus.GOOD &&
-                rememberingLevel.getOrderNumber() < NUMBER_OF_REMEMBERING_LEVELS) {
-            userCardQueue.setRememberingLevel(rememberingLevelRepository
-                    .findRememberingLevelByAccountEqualsAndOrderNumber(account, rememberingLevel.getOrderNumber() + 1));
-        } else {
-            userCardQueue.setRememberingLevel(rememberingLevelRepository
-                    .findRememberingLevelByAccountEqualsAndOrderNumber(account, rememberingLevel.getOrderNumber()));
+    private Date getDateToRepeat(Date cardDate, CardScheduler scheduler, long schedulerState) {
+        return new Date(cardDate.getTime() + (long) scheduler.getIntervalDays(schedulerState) * DAY_IN_MILLISECONDS);
+    }
+
+    private int getElapsedDays(Date previousCardDate, Date cardDate) {
+        if (previousCardDate == null) {
+            return 0;
         }
-        userCardQueue.setDateToRepeat(new Date(userCardQueue.getCardDate().getTime() +
-                userCardQueue.getRememberingLevel().getNumberOfPostponedDays() * DAY_IN_MILLISECONDS));
+        return (int) Math.max(0, (cardDate.getTime() - previousCardDate.getTime()) / DAY_IN_MILLISECONDS);
+    }
+
+    private Map<Long, ReviewedCard> loadReviewedCards(Long userId, List<CardReviewDTO> reviews) {
+        Set<Long> cardIds = new LinkedHashSet<>();
+        reviews.forEach(review -> cardIds.add(review.getCardId()));
+        List<Object> parameters = new ArrayList<>(cardIds.size() + 1);
+        parameters.add(userId);
+        parameters.addAll(cardIds);
+        String placeholders = String.join(", ", Collections.nCopies(cardIds.size(), "?"));
+        Map<Long, ReviewedCard> cards = new HashMap<>();
+        String query = String.format(SELECT_REVIEWED_CARDS, placeholders);
+        jdbcTemplate.query(query, parameters.toArray(), (RowCallbackHandler) resultSet -> {
+            ReviewedCard card = new ReviewedCard(resultSet.getLong("deck_id"), resultSet.getLong("card_id"));
+            card.id = resultSet.getLong("user_card_queue_id");
+            String status = resultSet.getString("status");
+            card.status = status != null ? UserCardQueueStatus.valueOf(status) : null;
+            card.cardDate = resultSet.getTimestamp("card_date");
+            card.dateToRepeat = resultSet.getTimestamp("date_to_repeat");
+            card.previousDateToRepeat = card.dateToRepeat;
+            card.schedulerState = resultSet.getLong("scheduler_state");
+            long rememberingLevelId = resultSet.getLong("remembering_level_id");
+            card.rememberingLevelId = resultSet.wasNull() ? null : rememberingLevelId;
+            int orderNumber = resultSet.getInt("order_number");
+            card.orderNumber = resultSet.wasNull() ? null : orderNumber;
+            cards.put(card.cardId, card);
+        });
+        return cards;
+    }
+
+    private void saveReviewedCards(Long userId, Collection<ReviewedCard> cards) {
+        List<Object[]> updates = new ArrayList<>();
+        List<UserCardQueue> newQueues = new ArrayList<>();
+        for (ReviewedCard card : cards) {
+            if (card.id != null) {
+                String status = card.status != null ? card.status.name() : null;
+                updates.add(new Object[]{status, card.cardDate, card.dateToRepeat, card.rememberingLevelId,
+                        card.schedulerState, card.id});
+            } else {
+                UserCardQueue userCardQueue = new UserCardQueue();
+                userCardQueue.setUserId(userId);
+                userCardQueue.setCardId(card.cardId);
+                userCardQueue.setDeckId(card.deckId);
+                userCardQueue.setStatus(card.status);
+                userCardQueue.setCardDate(card.cardDate);
+                userCardQueue.setDateToRepeat(card.dateToRepeat);
+                userCardQueue.setSchedulerState(card.schedulerState);
+                if (card.rememberingLevelId != null) {
+                    userCardQueue.setRememberingLevel(rememberingLevelRepository.getOne(card.rememberingLevelId));
+                }
+                newQueues.add(userCardQueue);
+            }
+        }
+        if (!updates.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPDATE_REVIEWED_CARD, updates);
+        }
+        // new rows go through JPA, which owns the generation of their ids
+        userCardQueueRepository.save(newQueues);
     }
 
     @Override
@@ -99,4 +326,30 @@ public class UserCardQueueServiceImpl implements UserCardQueueService {
         return userCardQueueRepository.countAllByUserIdEqualsAndDeckIdEqualsAndDateToRepeatBefore(
                 userService.getAuthorizedUser().getId(), deckId, new Date());
     }
+
+    @Override
+    public Map<Long, Long> countCardsThatNeedRepeatingToday() throws NotAuthorisedUserException {
+        return dueCountCache.getDueCounts(userService.getAuthorizedUser().getId());
+    }
+
+    /**
+     * State of a user_card_queue row while the reviews of a batch are applied; rows without id are new.
+     */
+    private static final class ReviewedCard {
+        private final Long deckId;
+        private final Long cardId;
+        private Long id;
+        private UserCardQueueStatus status;
+        private Date cardDate;
+        private Date dateToRepeat;
+        private Date previousDateToRepeat;
+        private Long rememberingLevelId;
+        private Integer orderNumber;
+        private long schedulerState;
+
+        private ReviewedCard(Long deckId, Long cardId) {
+            this.deckId = deckId;
+            this.cardId = cardId;
+        }
+    }
 }
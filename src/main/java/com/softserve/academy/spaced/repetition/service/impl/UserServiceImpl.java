@@ -9,9 +9,11 @@ import com.softserve.academy.spaced.repetition.utils.exceptions.UserStatusExcept
 import com.softserve.academy.spaced.repetition.repository.AuthorityRepository;
 import com.softserve.academy.spaced.repetition.repository.DeckRepository;
 import com.softserve.academy.spaced.repetition.repository.UserRepository;
+import com.softserve.academy.spaced.repetition.security.JwtRevocationCache;
 import com.softserve.academy.spaced.repetition.security.JwtUser;
 import com.softserve.academy.spaced.repetition.service.MailService;
 import com.softserve.academy.spaced.repetition.service.UserService;
+import com.softserve.academy.spaced.repetition.service.cache.AuthorizedUserContext;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
@@ -42,6 +44,10 @@ public class UserServiceImpl implements UserService {
 
     private AuthorityRepository authorityRepository;
 
+    private AuthorizedUserContext authorizedUserContext;
+
+    private JwtRevocationCache jwtRevocationCache;
+
     int QUANTITY_USER_IN_PAGE = 20;
 
     @Override
@@ -80,6 +86,18 @@ public class UserServiceImpl implements UserService {
         this.mailService = mailService;
     }
 
+    @Override
+    @Autowired
+    public void setAuthorizedUserContext(AuthorizedUserContext authorizedUserContext) {
+        this.authorizedUserContext = authorizedUserContext;
+    }
+
+    @Override
+    @Autowired
+    public void setJwtRevocationCache(JwtRevocationCache jwtRevocationCache) {
+        this.jwtRevocationCache = jwtRevocationCache;
+    }
+
     @Override
     public void addUser(User user) {
         userRepository.save(user);
@@ -100,6 +118,7 @@ public class UserServiceImpl implements UserService {
         User user = userRepository.findOne(id);
         user.getAccount().setStatus(AccountStatus.ACTIVE);
         userRepository.save(user);
+        jwtRevocationCache.revoke(user.getAccount().getEmail());
         return userRepository.findOne(id);
     }
 
@@ -108,6 +127,7 @@ public class UserServiceImpl implements UserService {
         User user = userRepository.findOne(id);
         user.getAccount().setStatus(AccountStatus.DELETED);
         userRepository.save(user);
+        jwtRevocationCache.revoke(user.getAccount().getEmail());
         return userRepository.findOne(id);
     }
 
@@ -116,6 +136,7 @@ public class UserServiceImpl implements UserService {
         User user = userRepository.findOne(id);
         user.getAccount().setStatus(AccountStatus.BLOCKED);
         userRepository.save(user);
+        jwtRevocationCache.revoke(user.getAccount().getEmail());
         return userRepository.findOne(id);
     }
 
@@ -157,7 +178,7 @@ public class UserServiceImpl implements UserService {
             throw new NotAuthorisedUserException();
         } else {
             JwtUser jwtUser = (JwtUser) principal;
-            return userRepository.findUserByAccountEmail(jwtUser.getUsername());
+            return authorizedUserContext.getUser(jwtUser.getUsername());
         }
     }
 
@@ -219,6 +240,7 @@ public class UserServiceImpl implements UserService {
         User user = getAuthorizedUser();
         user.getAccount().setPassword(passwordEncoder.encode(passwordDTO.getNewPassword()));
         userRepository.save(user);
+        jwtRevocationCache.revoke(user.getAccount().getEmail());
         mailService.sendPasswordNotificationMail(user);
     }
 
@@ -249,6 +271,7 @@ public class UserServiceImpl implements UserService {
         User user = getAuthorizedUser();
         user.getAccount().setDeactivated(true);
         userRepository.save(user);
+        jwtRevocationCache.revoke(user.getAccount().getEmail());
     }
 
     @Override
@@ -0,0 +1,32 @@
+package com.softserve.academy.spaced.repetition.service.rating;
+
+/**
+ * Entities with an aggregate rating, described by their table, id column and table of rating rows.
+ */
+public enum RatedEntity {
+    DECK("deck", "deck_id", "deck_rating"),
+    COURSE("course", "course_id", "course_rating"),
+    CARD("card", "card_id", "card_rating");
+
+    private final String table;
+    private final String idColumn;
+    private final String ratingTable;
+
+    RatedEntity(String table, String idColumn, String ratingTable) {
+        this.table = table;
+        this.idColumn = idColumn;
+        this.ratingTable = ratingTable;
+    }
+
+    public String getTable() {
+        return table;
+    }
+
+    public String getIdColumn() {
+        return idColumn;
+    }
+
+    public String getRatingTable() {
+        return ratingTable;
+    }
+}
@@ -0,0 +1,136 @@
+package com.softserve.academy.spaced.repetition.service.rating;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Collects rating votes in memory and applies them to the aggregate ratings in the background, so a burst of
+ * votes for one deck does not serialize on the row lock of the deck. Votes for different entities are added
+ * under different locks of the concurrent maps; a flush takes away the pending votes of each entity atomically
+ * and applies them in one JDBC batch, then announces the changed ids with a {@link RatingsChangedEvent}.
+ * Votes cast inside a transaction are added after its commit, so a rolled back vote never reaches the aggregate.
+ * Votes that failed to be applied are put back for the next flush; a failure of a listener of the event does not
+ * affect votes which are already applied.
+ * Votes still pending when the application stops are lost if the final flush fails; the nightly
+ * {@link RatingReconciliationJob} recounts such rows.
+ */
+@Component
+public class RatingAccumulator {
+    private static final Logger LOGGER = LoggerFactory.getLogger(RatingAccumulator.class);
+    private static final String APPLY_RATINGS = "UPDATE %1$s SET " +
+            "rating = (rating_sum + ?) * 1.0 / (rating_count + ?), " +
+            "rating_sum = rating_sum + ?, rating_count = rating_count + ? WHERE %2$s = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Map<RatedEntity, ConcurrentHashMap<Long, PendingRating>> pendingRatings =
+            new EnumMap<>(RatedEntity.class);
+
+    @Autowired
+    public RatingAccumulator(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                             ApplicationEventPublisher eventPublisher) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+        for (RatedEntity entity : RatedEntity.values()) {
+            pendingRatings.put(entity, new ConcurrentHashMap<>());
+        }
+    }
+
+    /**
+     * @param delta      difference between the new and the previous vote of the user
+     * @param countDelta 1 for the first vote of the user, 0 for a changed vote
+     */
+    public void add(RatedEntity entity, Long id, long delta, int countDelta) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+                @Override
+                public void afterCommit() {
+                    merge(entity, id, delta, countDelta);
+                }
+            });
+        } else {
+            merge(entity, id, delta, countDelta);
+        }
+    }
+
+    public boolean hasPending(RatedEntity entity, Long id) {
+        return pendingRatings.get(entity).containsKey(id);
+    }
+
+    @Scheduled(fixedDelayString = "${app.ratings.flushInterval:5000}")
+    @PreDestroy
+    public synchronized void flush() {
+        for (RatedEntity entity : RatedEntity.values()) {
+            ConcurrentHashMap<Long, PendingRating> pending = pendingRatings.get(entity);
+            // sorted by id, so concurrent flushes and reconciliation lock the rows in the same order
+            Map<Long, PendingRating> taken = new TreeMap<>();
+            for (Long id : pending.keySet()) {
+                PendingRating rating = pending.remove(id);
+                if (rating != null) {
+                    taken.put(id, rating);
+                }
+            }
+            if (!taken.isEmpty()) {
+                apply(entity, taken);
+            }
+        }
+    }
+
+    private void merge(RatedEntity entity, Long id, long delta, int countDelta) {
+        pendingRatings.get(entity).merge(id, new PendingRating(delta, countDelta), PendingRating::plus);
+    }
+
+    private void apply(RatedEntity entity, Map<Long, PendingRating> taken) {
+        List<Object[]> rows = new ArrayList<>(taken.size());
+        taken.forEach((id, rating) -> rows.add(
+                new Object[]{rating.sum, rating.count, rating.sum, rating.count, id}));
+        try {
+            transactionTemplate.execute(status -> jdbcTemplate.batchUpdate(
+                    String.format(APPLY_RATINGS, entity.getTable(), entity.getIdColumn()), rows));
+        } catch (DataAccessException e) {
+            LOGGER.error("Failed to apply {} pending ratings of {}", taken.size(), entity.getTable(), e);
+            taken.forEach((id, rating) -> pendingRatings.get(entity).merge(id, rating, PendingRating::plus));
+            return;
+        }
+        // the votes are committed at this point, a failing listener must not put them back
+        try {
+            eventPublisher.publishEvent(new RatingsChangedEvent(entity, new ArrayList<>(taken.keySet())));
+        } catch (RuntimeException e) {
+            LOGGER.error("Failed to announce {} changed ratings of {}", taken.size(), entity.getTable(), e);
+        }
+    }
+
+    private static final class PendingRating {
+        private final long sum;
+        private final int count;
+
+        private PendingRating(long sum, int count) {
+            this.sum = sum;
+            this.count = count;
+        }
+
+        private PendingRating plus(PendingRating other) {
+            return new PendingRating(sum + other.sum, count + other.count);
+        }
+    }
+}
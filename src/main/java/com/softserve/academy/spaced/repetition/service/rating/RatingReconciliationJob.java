@@ -0,0 +1,68 @@
+package com.softserve.academy.spaced.repetition.service.rating;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Recomputes the running rating sums and counts of decks, courses and cards from their rating rows. Votes keep
+ * the aggregates up to date through the {@link RatingAccumulator}, so this only repairs rows that drifted,
+ * e.g. after a failed flush or manual changes of the rating tables. Every repaired row is updated in its own
+ * short transaction.
+ */
+@Component
+public class RatingReconciliationJob {
+    private static final Logger LOGGER = LoggerFactory.getLogger(RatingReconciliationJob.class);
+    private static final String SELECT_DRIFTED = "SELECT t.%2$s FROM %1$s t LEFT JOIN " +
+            "(SELECT %2$s, SUM(rating) AS rating_sum, COUNT(*) AS rating_count FROM %3$s GROUP BY %2$s) r " +
+            "ON r.%2$s = t.%2$s " +
+            "WHERE t.rating_sum <> COALESCE(r.rating_sum, 0) OR t.rating_count <> COALESCE(r.rating_count, 0)";
+    private static final String RECOUNT = "UPDATE %1$s SET " +
+            "rating_sum = (SELECT COALESCE(SUM(r.rating), 0) FROM %3$s r WHERE r.%2$s = %1$s.%2$s), " +
+            "rating_count = (SELECT COUNT(*) FROM %3$s r WHERE r.%2$s = %1$s.%2$s) WHERE %2$s = ?";
+    private static final String UPDATE_AVERAGE = "UPDATE %1$s SET " +
+            "rating = CASE WHEN rating_count = 0 THEN 0 ELSE rating_sum * 1.0 / rating_count END WHERE %2$s = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final RatingAccumulator ratingAccumulator;
+
+    @Autowired
+    public RatingReconciliationJob(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                                   RatingAccumulator ratingAccumulator) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.ratingAccumulator = ratingAccumulator;
+    }
+
+    @Scheduled(cron = "${app.ratings.reconciliation.cron:0 0 4 * * *}")
+    public void reconcile() {
+        ratingAccumulator.flush();
+        for (RatedEntity entity : RatedEntity.values()) {
+            Object[] names = {entity.getTable(), entity.getIdColumn(), entity.getRatingTable()};
+            List<Long> driftedIds = jdbcTemplate.queryForList(String.format(SELECT_DRIFTED, names), Long.class);
+            int reconciled = 0;
+            for (Long id : driftedIds) {
+                // votes which are not flushed yet are expected to differ, they are checked again next time
+                if (ratingAccumulator.hasPending(entity, id)) {
+                    continue;
+                }
+                transactionTemplate.execute(status -> {
+                    jdbcTemplate.update(String.format(RECOUNT, names), id);
+                    return jdbcTemplate.update(String.format(UPDATE_AVERAGE, names), id);
+                });
+                reconciled++;
+            }
+            if (reconciled > 0) {
+                LOGGER.warn("Reconciled ratings of {} rows of {}", reconciled, entity.getTable());
+            }
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.softserve.academy.spaced.repetition.service.rating;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Published after the aggregate ratings of the given entities were updated.
+ */
+public class RatingsChangedEvent {
+    private final RatedEntity entity;
+    private final List<Long> ids;
+
+    public RatingsChangedEvent(RatedEntity entity, List<Long> ids) {
+        this.entity = entity;
+        this.ids = Collections.unmodifiableList(ids);
+    }
+
+    public RatedEntity getEntity() {
+        return entity;
+    }
+
+    public List<Long> getIds() {
+        return ids;
+    }
+}
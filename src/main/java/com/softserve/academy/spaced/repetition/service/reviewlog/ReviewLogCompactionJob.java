@@ -0,0 +1,51 @@
+package com.softserve.academy.spaced.repetition.service.reviewlog;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Compacts the review log. Events are folded into user_card_queue when they are received, so the log only
+ * serves to recognize events uploaded again; events received before the retention period are deleted in
+ * small chunks, and an event uploaded after that is applied once more.
+ */
+@Component
+public class ReviewLogCompactionJob {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ReviewLogCompactionJob.class);
+    private static final String DELETE_EXPIRED_EVENTS = "DELETE FROM review_event WHERE received_at < ? LIMIT ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${app.learning.reviewLog.retentionDays:30}")
+    private int retentionDays;
+
+    @Value("${app.learning.reviewLog.deleteChunkSize:10000}")
+    private int deleteChunkSize;
+
+    @Autowired
+    public ReviewLogCompactionJob(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Scheduled(cron = "${app.learning.reviewLog.cron:0 0 5 * * *}")
+    public void compact() {
+        Timestamp oldestKept = Timestamp.from(Instant.now().minus(retentionDays, ChronoUnit.DAYS));
+        long total = 0;
+        int deleted;
+        do {
+            deleted = jdbcTemplate.update(DELETE_EXPIRED_EVENTS, oldestKept, deleteChunkSize);
+            total += deleted;
+        } while (deleted == deleteChunkSize);
+        if (total > 0) {
+            LOGGER.info("Compacted {} review events", total);
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.softserve.academy.spaced.repetition.service.scheduling;
+
+import com.softserve.academy.spaced.repetition.domain.enums.LearningRegime;
+import com.softserve.academy.spaced.repetition.domain.enums.UserCardQueueStatus;
+
+/**
+ * Scheduling algorithm behind a learning regime. The whole state an algorithm keeps for a card is packed into
+ * a single long stored with the card's queue entry, 0 being the state of a card which was never answered.
+ * The states are reset to 0 when the user switches to another learning regime, since the packed long of one
+ * algorithm means nothing to another.
+ * Implementations are pure functions of their arguments and allocate nothing, so one instance serves all
+ * users and calls are cheap enough for the review hot path.
+ */
+public interface CardScheduler {
+
+    LearningRegime getLearningRegime();
+
+    /**
+     * Returns the state of the card after it was answered with the status.
+     *
+     * @param elapsedDays days since the previous answer of the card, 0 for a new card
+     */
+    long review(long state, UserCardQueueStatus status, int elapsedDays);
+
+    /**
+     * Returns the number of days after which the card in the state has to be repeated.
+     */
+    int getIntervalDays(long state);
+}
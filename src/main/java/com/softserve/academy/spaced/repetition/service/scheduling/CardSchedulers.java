@@ -0,0 +1,33 @@
+package com.softserve.academy.spaced.repetition.service.scheduling;
+
+import com.softserve.academy.spaced.repetition.domain.enums.LearningRegime;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Schedulers of the learning regimes, collected from all {@link CardScheduler} beans.
+ */
+@Component
+public class CardSchedulers {
+    private final Map<LearningRegime, CardScheduler> schedulers = new EnumMap<>(LearningRegime.class);
+
+    @Autowired
+    public CardSchedulers(List<CardScheduler> cardSchedulers) {
+        for (CardScheduler scheduler : cardSchedulers) {
+            if (schedulers.put(scheduler.getLearningRegime(), scheduler) != null) {
+                throw new IllegalStateException("More than one scheduler for " + scheduler.getLearningRegime());
+            }
+        }
+    }
+
+    /**
+     * Returns the scheduler of the regime or null if the regime does not use one.
+     */
+    public CardScheduler get(LearningRegime learningRegime) {
+        return schedulers.get(learningRegime);
+    }
+}
@@ -0,0 +1,80 @@
+package com.softserve.academy.spaced.repetition.service.scheduling;
+
+import com.softserve.academy.spaced.repetition.domain.enums.LearningRegime;
+import com.softserve.academy.spaced.repetition.domain.enums.UserCardQueueStatus;
+import org.springframework.stereotype.Component;
+
+/**
+ * Free Spaced Repetition Scheduler (FSRS-4.5) with its default weights and a requested retention of 90%.
+ * The state keeps the stability in days as a float (bits 0-31) and the difficulty in thousandths
+ * (bits 32-47). BAD, NORMAL and GOOD answers are rated as Again, Good and Easy.
+ */
+@Component
+public class FsrsScheduler implements CardScheduler {
+    private static final double[] W = {0.4872, 1.4003, 3.7145, 13.8206, 5.1618, 1.2298, 0.8975, 0.031, 1.6474,
+            0.1367, 1.0461, 2.1072, 0.0793, 0.3246, 1.587, 0.2272, 2.8755};
+    private static final double DECAY = -0.5;
+    private static final double FACTOR = 19.0 / 81;
+    private static final double REQUESTED_RETENTION = 0.9;
+    private static final int MAX_INTERVAL_DAYS = 36500;
+    private static final int AGAIN = 1;
+    private static final int GOOD = 3;
+    private static final int EASY = 4;
+
+    @Override
+    public LearningRegime getLearningRegime() {
+        return LearningRegime.FSRS_SPACED_REPETITION;
+    }
+
+    @Override
+    public long review(long state, UserCardQueueStatus status, int elapsedDays) {
+        int rating = getRating(status);
+        if (state == 0) {
+            return pack(W[rating - 1], getInitialDifficulty(rating));
+        }
+        double stability = Float.intBitsToFloat((int) state);
+        double difficulty = ((state >>> 32) & 0xFFFFL) / 1000.0;
+        double retrievability = Math.pow(1 + FACTOR * Math.max(0, elapsedDays) / stability, DECAY);
+
+        double nextStability;
+        if (rating == AGAIN) {
+            nextStability = Math.min(stability, W[11] * Math.pow(difficulty, -W[12])
+                    * (Math.pow(stability + 1, W[13]) - 1) * Math.exp(W[14] * (1 - retrievability)));
+        } else {
+            double easyBonus = rating == EASY ? W[16] : 1;
+            nextStability = stability * (1 + Math.exp(W[8]) * (11 - difficulty) * Math.pow(stability, -W[9])
+                    * (Math.exp(W[10] * (1 - retrievability)) - 1) * easyBonus);
+        }
+        double nextDifficulty = difficulty - W[6] * (rating - GOOD);
+        nextDifficulty = W[7] * getInitialDifficulty(GOOD) + (1 - W[7]) * nextDifficulty;
+        return pack(nextStability, nextDifficulty);
+    }
+
+    @Override
+    public int getIntervalDays(long state) {
+        double stability = Float.intBitsToFloat((int) state);
+        double interval = stability / FACTOR * (Math.pow(REQUESTED_RETENTION, 1 / DECAY) - 1);
+        return (int) Math.max(1, Math.min(MAX_INTERVAL_DAYS, Math.round(interval)));
+    }
+
+    private static double getInitialDifficulty(int rating) {
+        return W[4] - (rating - GOOD) * W[5];
+    }
+
+    private static long pack(double stability, double difficulty) {
+        float boundedStability = (float) Math.max(0.01, Math.min(MAX_INTERVAL_DAYS, stability));
+        long boundedDifficulty = Math.round(Math.max(1, Math.min(10, difficulty)) * 1000);
+        return Float.floatToRawIntBits(boundedStability) & 0xFFFFFFFFL | boundedDifficulty << 32;
+    }
+
+    private static int getRating(UserCardQueueStatus status) {
+        switch (status) {
+            case GOOD:
+                return EASY;
+            case NORMAL:
+                return GOOD;
+            default:
+                return AGAIN;
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.softserve.academy.spaced.repetition.service.scheduling;
+
+import com.softserve.academy.spaced.repetition.domain.enums.LearningRegime;
+import com.softserve.academy.spaced.repetition.domain.enums.UserCardQueueStatus;
+import org.springframework.stereotype.Component;
+
+/**
+ * SuperMemo 2. The state keeps the number of successful repetitions in a row (bits 0-15), the interval in
+ * days (bits 16-39) and the easiness factor in thousandths (bits 40-55). BAD, NORMAL and GOOD answers are
+ * graded with the qualities 1, 3 and 5.
+ */
+@Component
+public class Sm2Scheduler implements CardScheduler {
+    private static final int INITIAL_EASINESS = 2500;
+    private static final int MIN_EASINESS = 1300;
+    private static final int MAX_INTERVAL_DAYS = 36500;
+    private static final long MASK_16 = 0xFFFFL;
+    private static final long MASK_24 = 0xFFFFFFL;
+
+    @Override
+    public LearningRegime getLearningRegime() {
+        return LearningRegime.SM2_SPACED_REPETITION;
+    }
+
+    @Override
+    public long review(long state, UserCardQueueStatus status, int elapsedDays) {
+        int repetitions = (int) (state & MASK_16);
+        int interval = (int) ((state >>> 16) & MASK_24);
+        int easiness = state == 0 ? INITIAL_EASINESS : (int) ((state >>> 40) & MASK_16);
+        int quality = getQuality(status);
+
+        if (quality >= 3) {
+            if (repetitions == 0) {
+                interval = 1;
+            } else if (repetitions == 1) {
+                interval = 6;
+            } else {
+                interval = (int) Math.min(MAX_INTERVAL_DAYS, Math.round(interval * easiness / 1000.0));
+            }
+            repetitions = Math.min(repetitions + 1, (int) MASK_16);
+        } else {
+            repetitions = 0;
+            interval = 1;
+        }
+        int lack = 5 - quality;
+        easiness = Math.min((int) MASK_16, Math.max(MIN_EASINESS, easiness + 100 - lack * (80 + lack * 20)));
+        return repetitions | (long) interval << 16 | (long) easiness << 40;
+    }
+
+    @Override
+    public int getIntervalDays(long state) {
+        return (int) ((state >>> 16) & MASK_24);
+    }
+
+    private static int getQuality(UserCardQueueStatus status) {
+        switch (status) {
+            case GOOD:
+                return 5;
+            case NORMAL:
+                return 3;
+            default:
+                return 1;
+        }
+    }
+}
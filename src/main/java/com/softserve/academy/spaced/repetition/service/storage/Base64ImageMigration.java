@@ -0,0 +1,61 @@
+package com.softserve.academy.spaced.repetition.service.storage;
+
+import com.softserve.academy.spaced.repetition.repository.ImageRepository;
+import com.softserve.academy.spaced.repetition.service.ImageService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * One-time move of images kept as Base64 text in the image table into the {@link ImageStore}.
+ * Runs in the background after startup; images that are requested before it reaches them are moved on read.
+ */
+@Component
+public class Base64ImageMigration {
+    private static final Logger LOGGER = LoggerFactory.getLogger(Base64ImageMigration.class);
+
+    private final ImageRepository imageRepository;
+    private final ImageService imageService;
+
+    @Value("${app.images.migrateBase64:true}")
+    private boolean enabled;
+
+    @Autowired
+    public Base64ImageMigration(ImageRepository imageRepository, ImageService imageService) {
+        this.imageRepository = imageRepository;
+        this.imageService = imageService;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (enabled) {
+            Thread thread = new Thread(this::migrate, "image-migration");
+            thread.setDaemon(true);
+            thread.start();
+        }
+    }
+
+    private void migrate() {
+        List<Long> imageIds = imageRepository.getIdsOfImagesStoredAsBase64();
+        if (imageIds.isEmpty()) {
+            return;
+        }
+        LOGGER.info("Moving {} Base64 images to the image store", imageIds.size());
+        int moved = 0;
+        for (Long imageId : imageIds) {
+            try {
+                imageService.moveContentToImageStore(imageId);
+                moved++;
+            } catch (RuntimeException e) {
+                LOGGER.error("Failed to move image {} to the image store", imageId, e);
+            }
+        }
+        LOGGER.info("Moved {} of {} Base64 images to the image store", moved, imageIds.size());
+    }
+}
@@ -0,0 +1,123 @@
+package com.softserve.academy.spaced.repetition.service.storage;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Keeps image content in files named by the SHA-256 of the content, spread over subdirectories
+ * by the first two characters of the name. The modification time of a file is the last time its content
+ * was saved.
+ */
+@Component
+public class FileSystemImageStore implements ImageStore {
+    private static final String HASH_ALGORITHM = "SHA-256";
+    private static final String TEMP_FILE_SUFFIX = ".tmp";
+    private static final int DIRECTORY_NAME_LENGTH = 2;
+
+    private final Path root;
+
+    @Autowired
+    public FileSystemImageStore(@Value("${app.images.storePath:images}") String storePath) {
+        this.root = Paths.get(storePath);
+    }
+
+    @Override
+    public String save(byte[] content) {
+        String key = hash(content);
+        Path path = resolve(key);
+        try {
+            if (Files.exists(path)) {
+                Files.setLastModifiedTime(path, FileTime.fromMillis(System.currentTimeMillis()));
+                return key;
+            }
+        } catch (IOException e) {
+            // deleted by the sweep right now, it is written again below
+        }
+        try {
+            Files.createDirectories(path.getParent());
+            Path tempFile = Files.createTempFile(path.getParent(), key, TEMP_FILE_SUFFIX);
+            Files.write(tempFile, content);
+            Files.move(tempFile, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to store image " + key, e);
+        }
+        return key;
+    }
+
+    @Override
+    public Resource load(String key) {
+        Path path = resolve(key);
+        return Files.isRegularFile(path) ? new FileSystemResource(path.toFile()) : null;
+    }
+
+    @Override
+    public void delete(String key) {
+        try {
+            Files.deleteIfExists(resolve(key));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to delete image " + key, e);
+        }
+    }
+
+    @Override
+    public void forEachKeySavedBefore(long time, Consumer<String> action) {
+        if (Files.notExists(root)) {
+            return;
+        }
+        try (Stream<Path> files = Files.walk(root, 2)) {
+            files.filter(file -> !file.getFileName().toString().endsWith(TEMP_FILE_SUFFIX))
+                    .filter(file -> isSavedBefore(file, time))
+                    .forEach(file -> action.accept(file.getFileName().toString()));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to list images", e);
+        }
+    }
+
+    @Override
+    public boolean deleteIfSavedBefore(String key, long time) {
+        if (!isSavedBefore(resolve(key), time)) {
+            return false;
+        }
+        delete(key);
+        return true;
+    }
+
+    private boolean isSavedBefore(Path file, long time) {
+        try {
+            return Files.isRegularFile(file) && Files.getLastModifiedTime(file).toMillis() < time;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private Path resolve(String key) {
+        return root.resolve(key.substring(0, DIRECTORY_NAME_LENGTH)).resolve(key);
+    }
+
+    private String hash(byte[] content) {
+        try {
+            StringBuilder hash = new StringBuilder();
+            for (byte b : MessageDigest.getInstance(HASH_ALGORITHM).digest(content)) {
+                hash.append(String.format("%02x", b));
+            }
+            return hash.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.softserve.academy.spaced.repetition.service.storage;
+
+import org.springframework.core.io.Resource;
+
+/**
+ * Stored image content together with what is needed to serve it over HTTP.
+ */
+public class ImageContent {
+    private final String contentHash;
+    private final String contentType;
+    private final Resource resource;
+
+    public ImageContent(String contentHash, String contentType, Resource resource) {
+        this.contentHash = contentHash;
+        this.contentType = contentType;
+        this.resource = resource;
+    }
+
+    public String getContentHash() {
+        return contentHash;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public Resource getResource() {
+        return resource;
+    }
+}
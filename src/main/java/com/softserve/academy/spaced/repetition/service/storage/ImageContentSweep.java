@@ -0,0 +1,47 @@
+package com.softserve.academy.spaced.repetition.service.storage;
+
+import com.softserve.academy.spaced.repetition.repository.ImageRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Deletes stored image content that no image refers to any more. Content is shared by all images with the same
+ * bytes, so it is only deleted when it was not saved during the grace period: an upload of the same bytes marks
+ * the content as saved before its image row is committed, and the reference is checked again on the next sweep.
+ */
+@Component
+public class ImageContentSweep {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ImageContentSweep.class);
+
+    private final ImageStore imageStore;
+    private final ImageRepository imageRepository;
+
+    @Value("${app.images.orphanSweep.gracePeriod:86400000}")
+    private long gracePeriod = 86400000;
+
+    @Autowired
+    public ImageContentSweep(ImageStore imageStore, ImageRepository imageRepository) {
+        this.imageStore = imageStore;
+        this.imageRepository = imageRepository;
+    }
+
+    @Scheduled(cron = "${app.images.orphanSweep.cron:0 0 5 * * *}")
+    public void sweep() {
+        long savedBefore = System.currentTimeMillis() - gracePeriod;
+        AtomicInteger deleted = new AtomicInteger();
+        imageStore.forEachKeySavedBefore(savedBefore, key -> {
+            if (imageRepository.countByContentHash(key) == 0 && imageStore.deleteIfSavedBefore(key, savedBefore)) {
+                deleted.incrementAndGet();
+            }
+        });
+        if (deleted.get() > 0) {
+            LOGGER.info("Deleted {} unreferenced image contents", deleted.get());
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.softserve.academy.spaced.repetition.service.storage;
+
+import org.springframework.core.io.Resource;
+
+import java.util.function.Consumer;
+
+/**
+ * Binary storage of image content. Content is addressed by its hash, so the same image uploaded twice
+ * is stored once and the key can be used as a strong ETag. Content shared by several images is never deleted
+ * inline; {@link ImageContentSweep} removes content that stayed unreferenced for a grace period.
+ */
+public interface ImageStore {
+
+    /**
+     * Stores the content unless the same content is already stored. Content that is already stored is marked
+     * as saved now, so it is not swept while the new reference to it is being committed.
+     *
+     * @param content - raw image bytes
+     * @return key of the stored content
+     */
+    String save(byte[] content);
+
+    /**
+     * @param key - key returned by {@link #save(byte[])}
+     * @return stored content or null if there is no content with such key
+     */
+    Resource load(String key);
+
+    /**
+     * Passes the keys of the content which was last saved before the time.
+     */
+    void forEachKeySavedBefore(long time, Consumer<String> action);
+
+    /**
+     * Deletes the content unless it was saved again since the time.
+     *
+     * @return true if the content was deleted
+     */
+    boolean deleteIfSavedBefore(String key, long time);
+}
@@ -0,0 +1,70 @@
+package com.softserve.academy.spaced.repetition.service.storage;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Raster image formats accepted for upload. The format is recognized by the signature at the start of the
+ * content, the content type sent by the client is not trusted: scriptable formats like SVG are never stored or
+ * served as images.
+ */
+public final class ImageTypes {
+    public static final String JPEG = "image/jpeg";
+    public static final String PNG = "image/png";
+    public static final String GIF = "image/gif";
+    public static final String BMP = "image/bmp";
+    public static final String WEBP = "image/webp";
+
+    private static final List<String> RASTER_TYPES = Arrays.asList(JPEG, PNG, GIF, BMP, WEBP);
+    private static final byte[] JPEG_SIGNATURE = {(byte) 0xFF, (byte) 0xD8, (byte) 0xFF};
+    private static final byte[] PNG_SIGNATURE = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'};
+    private static final byte[] GIF87_SIGNATURE = "GIF87a".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] GIF89_SIGNATURE = "GIF89a".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] BMP_SIGNATURE = "BM".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] RIFF_SIGNATURE = "RIFF".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] WEBP_SIGNATURE = "WEBP".getBytes(StandardCharsets.US_ASCII);
+    private static final int WEBP_SIGNATURE_OFFSET = 8;
+
+    private ImageTypes() {
+    }
+
+    /**
+     * @return content type of the image or null if the content is not an image of a supported raster format
+     */
+    public static String detect(byte[] content) {
+        if (startsWith(content, 0, JPEG_SIGNATURE)) {
+            return JPEG;
+        } else if (startsWith(content, 0, PNG_SIGNATURE)) {
+            return PNG;
+        } else if (startsWith(content, 0, GIF87_SIGNATURE) || startsWith(content, 0, GIF89_SIGNATURE)) {
+            return GIF;
+        } else if (startsWith(content, 0, BMP_SIGNATURE)) {
+            return BMP;
+        } else if (startsWith(content, 0, RIFF_SIGNATURE)
+                && startsWith(content, WEBP_SIGNATURE_OFFSET, WEBP_SIGNATURE)) {
+            return WEBP;
+        }
+        return null;
+    }
+
+    /**
+     * Images stored before the format was checked may carry any content type; only raster types are served as
+     * images.
+     */
+    public static boolean isRaster(String contentType) {
+        return contentType != null && RASTER_TYPES.contains(contentType.toLowerCase());
+    }
+
+    private static boolean startsWith(byte[] content, int offset, byte[] signature) {
+        if (content == null || content.length < offset + signature.length) {
+            return false;
+        }
+        for (int i = 0; i < signature.length; i++) {
+            if (content[offset + i] != signature[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
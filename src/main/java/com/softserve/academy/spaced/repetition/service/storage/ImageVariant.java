@@ -0,0 +1,86 @@
+package com.softserve.academy.spaced.repetition.service.storage;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Requested size and format of an image. Width and height are upper bounds taken from a fixed set of sizes,
+ * so the number of variants of an image stays small; the image keeps its proportions and is never enlarged.
+ * A missing format keeps the format of the original image.
+ */
+public class ImageVariant {
+    private static final List<String> FORMATS = Arrays.asList("jpeg", "png", "gif");
+    private static final String DEFAULT_FORMAT = "png";
+    private static final String IMAGE_MEDIA_TYPE_PREFIX = "image/";
+
+    private final Integer width;
+    private final Integer height;
+    private final String format;
+
+    private ImageVariant(Integer width, Integer height, String format) {
+        this.width = width;
+        this.height = height;
+        this.format = format;
+    }
+
+    /**
+     * @param sizes - widths and heights that can be requested
+     * @return requested variant or null if neither size nor format are requested
+     * @throws IllegalArgumentException if the size or the format are not supported
+     */
+    public static ImageVariant of(Integer width, Integer height, String format, String originalContentType,
+                                  int[] sizes) {
+        if (width == null && height == null && format == null) {
+            return null;
+        }
+        checkDimension(width, sizes);
+        checkDimension(height, sizes);
+        String variantFormat = format != null ? format.toLowerCase() : toFormat(originalContentType);
+        if ("jpg".equals(variantFormat)) {
+            variantFormat = "jpeg";
+        }
+        if (!FORMATS.contains(variantFormat)) {
+            throw new IllegalArgumentException("Image format is not supported: " + format);
+        }
+        return new ImageVariant(width, height, variantFormat);
+    }
+
+    private static void checkDimension(Integer dimension, int[] sizes) {
+        if (dimension != null && Arrays.stream(sizes).noneMatch(size -> size == dimension)) {
+            throw new IllegalArgumentException("Image width and height must be one of " + Arrays.toString(sizes));
+        }
+    }
+
+    private static String toFormat(String contentType) {
+        if (contentType != null && contentType.startsWith(IMAGE_MEDIA_TYPE_PREFIX)) {
+            String format = contentType.substring(IMAGE_MEDIA_TYPE_PREFIX.length()).toLowerCase();
+            if (FORMATS.contains(format)) {
+                return format;
+            }
+        }
+        return DEFAULT_FORMAT;
+    }
+
+    public Integer getWidth() {
+        return width;
+    }
+
+    public Integer getHeight() {
+        return height;
+    }
+
+    public String getFormat() {
+        return format;
+    }
+
+    public String getContentType() {
+        return IMAGE_MEDIA_TYPE_PREFIX + format;
+    }
+
+    /**
+     * @return part of the file name and ETag that identifies this variant
+     */
+    public String getKey() {
+        return "w" + (width != null ? width : "") + "h" + (height != null ? height : "") + "." + format;
+    }
+}
@@ -0,0 +1,209 @@
+package com.softserve.academy.spaced.repetition.service.storage;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.stream.Stream;
+
+/**
+ * Resized variants of stored images. Each variant is made once on a bounded pool of workers and kept in files
+ * that are evicted in LRU order when their total size exceeds the limit. Concurrent requests for a variant that
+ * is being made wait for the same result instead of resizing the image again.
+ */
+@Component
+public class ImageVariantStore {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ImageVariantStore.class);
+    private static final String TEMP_FILE_SUFFIX = ".tmp";
+    private static final String KEY_DELIMITER = "-";
+
+    private final Map<String, Long> variantSizes = new LinkedHashMap<>(16, 0.75f, true);
+    private final ConcurrentMap<String, CompletableFuture<Path>> variantsInProgress = new ConcurrentHashMap<>();
+    private long totalBytes;
+    private ExecutorService executor;
+    private Path root;
+
+    @Value("${app.images.variants.path:images/variants}")
+    private String variantsPath;
+
+    @Value("${app.images.variants.maxBytes:268435456}")
+    private long maxBytes;
+
+    @Value("${app.images.variants.threads:2}")
+    private int threads;
+
+    @Value("${app.images.variants.queueCapacity:100}")
+    private int queueCapacity;
+
+    @Value("${app.images.variants.timeout:10000}")
+    private long timeout;
+
+    @Value("${app.images.variants.maxSourcePixels:25000000}")
+    private long maxSourcePixels;
+
+    @PostConstruct
+    public void init() throws IOException {
+        executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity));
+        root = Paths.get(variantsPath);
+        Files.createDirectories(root);
+        try (Stream<Path> files = Files.list(root)) {
+            files.filter(file -> !file.getFileName().toString().endsWith(TEMP_FILE_SUFFIX))
+                    .sorted(Comparator.comparingLong(file -> file.toFile().lastModified()))
+                    .forEach(file -> register(file.getFileName().toString(), file.toFile().length()));
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * @param sourceKey - key that changes whenever the source content changes, e.g. content hash
+     * @return variant content or null if the source can not be read as an image
+     * @throws RejectedExecutionException if too many variants are being made at the moment
+     */
+    public Resource getVariant(String sourceKey, Resource source, ImageVariant variant) {
+        String key = sourceKey + KEY_DELIMITER + variant.getKey();
+        Path path = root.resolve(key);
+        synchronized (variantSizes) {
+            if (variantSizes.get(key) != null && Files.isRegularFile(path)) {
+                return new FileSystemResource(path.toFile());
+            }
+        }
+        CompletableFuture<Path> result = variantsInProgress.computeIfAbsent(key, k ->
+                CompletableFuture.supplyAsync(() -> createVariant(k, source, variant), executor));
+        try {
+            Path variantPath = result.get(timeout, TimeUnit.MILLISECONDS);
+            return variantPath != null ? new FileSystemResource(variantPath.toFile()) : null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RejectedExecutionException("Interrupted while waiting for image variant " + key, e);
+        } catch (TimeoutException e) {
+            throw new RejectedExecutionException("Image variant " + key + " was not made in time", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Failed to make image variant " + key, e.getCause());
+        }
+    }
+
+    private Path createVariant(String key, Resource source, ImageVariant variant) {
+        try {
+            BufferedImage image;
+            try (InputStream content = source.getInputStream()) {
+                image = read(key, content);
+            }
+            if (image == null) {
+                return null;
+            }
+            Path path = root.resolve(key);
+            Path tempFile = Files.createTempFile(root, key, TEMP_FILE_SUFFIX);
+            ImageIO.write(resize(image, variant), variant.getFormat(), tempFile.toFile());
+            Files.move(tempFile, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            register(key, Files.size(path));
+            return path;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            variantsInProgress.remove(key);
+        }
+    }
+
+    /**
+     * Decodes the image only if its dimensions, read from the header, are within the pixel limit, so a small
+     * file that expands into a huge bitmap is never decoded.
+     *
+     * @return decoded image or null if the content is not a readable image or is too large
+     */
+    private BufferedImage read(String key, InputStream content) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(content)) {
+            if (input == null) {
+                return null;
+            }
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                long pixels = (long) reader.getWidth(0) * reader.getHeight(0);
+                if (pixels > maxSourcePixels) {
+                    LOGGER.warn("Image variant {} is not made, the source has {} pixels", key, pixels);
+                    return null;
+                }
+                return reader.read(0);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private BufferedImage resize(BufferedImage image, ImageVariant variant) {
+        double scale = 1;
+        if (variant.getWidth() != null) {
+            scale = Math.min(scale, (double) variant.getWidth() / image.getWidth());
+        }
+        if (variant.getHeight() != null) {
+            scale = Math.min(scale, (double) variant.getHeight() / image.getHeight());
+        }
+        int width = Math.max(1, (int) Math.round(image.getWidth() * scale));
+        int height = Math.max(1, (int) Math.round(image.getHeight() * scale));
+        boolean keepsAlpha = image.getColorModel().hasAlpha() && !"jpeg".equals(variant.getFormat());
+        BufferedImage resized = new BufferedImage(width, height,
+                keepsAlpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = resized.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.drawImage(image, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+        return resized;
+    }
+
+    private void register(String key, long size) {
+        synchronized (variantSizes) {
+            Long previousSize = variantSizes.put(key, size);
+            totalBytes += size - (previousSize != null ? previousSize : 0);
+            Iterator<Map.Entry<String, Long>> eldest = variantSizes.entrySet().iterator();
+            while (totalBytes > maxBytes && eldest.hasNext()) {
+                Map.Entry<String, Long> entry = eldest.next();
+                if (entry.getKey().equals(key)) {
+                    continue;
+                }
+                totalBytes -= entry.getValue();
+                eldest.remove();
+                try {
+                    Files.deleteIfExists(root.resolve(entry.getKey()));
+                } catch (IOException e) {
+                    LOGGER.warn("Failed to delete image variant {}", entry.getKey(), e);
+                }
+            }
+        }
+    }
+}
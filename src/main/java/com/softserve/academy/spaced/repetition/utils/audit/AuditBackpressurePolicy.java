@@ -0,0 +1,19 @@
+package com.softserve.academy.spaced.repetition.utils.audit;
+
+/**
+ * What the audit writer does with a new event when its queue is full.
+ */
+public enum AuditBackpressurePolicy {
+    /**
+     * Wait for free space up to the configured block timeout, then drop the new event.
+     */
+    BLOCK,
+    /**
+     * Drop the oldest queued events to make room for the new one.
+     */
+    DROP_OLDEST,
+    /**
+     * Keep only every n-th event while the queue is filling up, drop new events when it is full.
+     */
+    SAMPLE
+}
@@ -1,7 +1,6 @@
 package com.softserve.academy.spaced.repetition.utils.audit;
 
 import com.softserve.academy.spaced.repetition.domain.Audit;
-import com.softserve.academy.spaced.repetition.repository.AuditRepository;
 import com.softserve.academy.spaced.repetition.security.JwtUser;
 import org.aspectj.lang.annotation.After;
 import org.aspectj.lang.annotation.Aspect;
@@ -22,11 +21,12 @@ public class AuditMain {
     private final String ROLE_FOR_GUEST = "[ROLE_GUEST]";
 
     @Autowired
-    private AuditRepository auditRepository;
+    private AuditWriter auditWriter;
 
     /**
      * Find out and save user's activity.
      * Save: account email, action type, time, role.
+     * The event is only queued here, it is written to the database in the background by {@link AuditWriter}.
      */
     @After("@annotation(auditable)")
     public void logAuditActivity(Auditable auditable) {
@@ -45,7 +45,7 @@ public class AuditMain {
             accountEmail = jwtUser.getUsername();
             role = jwtUser.getAuthorities().toString();
         }
-        auditRepository.save(new Audit(accountEmail, auditable.action(), new Date(), getIpAddress(), role));
+        auditWriter.write(new Audit(accountEmail, auditable.action(), new Date(), getIpAddress(), role));
     }
 
     public String getIpAddress() {
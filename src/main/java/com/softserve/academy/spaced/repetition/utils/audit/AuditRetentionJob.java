@@ -0,0 +1,101 @@
+package com.softserve.academy.spaced.repetition.utils.audit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * Removes audit records older than the retention period and keeps the daily partitions of the audit table.
+ * With partitioning enabled (MySQL only, see data/migration/optional/audit-partitions.sql) partitions for the
+ * next days are created ahead and expired days are dropped as whole partitions. Otherwise expired rows
+ * are deleted in small chunks. Hourly counts are kept for their own, longer retention period.
+ */
+@Component
+public class AuditRetentionJob {
+    private static final Logger LOGGER = LoggerFactory.getLogger(AuditRetentionJob.class);
+    private static final String PARTITION_PREFIX = "p";
+    private static final String MAX_PARTITION = "pmax";
+    private static final DateTimeFormatter PARTITION_DATE_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd");
+    private static final String SELECT_PARTITIONS = "SELECT PARTITION_NAME FROM information_schema.PARTITIONS " +
+            "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'audit' AND PARTITION_NAME IS NOT NULL";
+    private static final String ADD_PARTITION = "ALTER TABLE audit REORGANIZE PARTITION " + MAX_PARTITION +
+            " INTO (PARTITION %s VALUES LESS THAN (TO_DAYS('%s')), PARTITION " + MAX_PARTITION +
+            " VALUES LESS THAN MAXVALUE)";
+    private static final String DROP_PARTITION = "ALTER TABLE audit DROP PARTITION %s";
+    private static final String DELETE_EXPIRED_AUDIT = "DELETE FROM audit WHERE time < ? LIMIT ?";
+    private static final String DELETE_EXPIRED_HOURLY_COUNTS = "DELETE FROM audit_hourly_count WHERE hour_start < ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${app.audit.retention.partitioned:false}")
+    private boolean partitioned;
+
+    @Value("${app.audit.retention.days:90}")
+    private int retentionDays;
+
+    @Value("${app.audit.retention.hourlyCountDays:730}")
+    private int hourlyCountRetentionDays;
+
+    @Value("${app.audit.retention.partitionsAhead:7}")
+    private int partitionsAhead;
+
+    @Value("${app.audit.retention.deleteChunkSize:10000}")
+    private int deleteChunkSize;
+
+    @Autowired
+    public AuditRetentionJob(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Scheduled(cron = "${app.audit.retention.cron:0 30 3 * * *}")
+    public void applyRetention() {
+        LocalDate today = LocalDate.now();
+        LocalDate oldestKeptDay = today.minusDays(retentionDays);
+        if (partitioned) {
+            maintainPartitions(today, oldestKeptDay);
+        } else {
+            deleteExpiredAudit(oldestKeptDay);
+        }
+        jdbcTemplate.update(DELETE_EXPIRED_HOURLY_COUNTS, toTimestamp(today.minusDays(hourlyCountRetentionDays)));
+    }
+
+    private void maintainPartitions(LocalDate today, LocalDate oldestKeptDay) {
+        List<String> partitions = jdbcTemplate.queryForList(SELECT_PARTITIONS, String.class);
+        for (LocalDate day = today; !day.isAfter(today.plusDays(partitionsAhead)); day = day.plusDays(1)) {
+            String partition = PARTITION_PREFIX + day.format(PARTITION_DATE_FORMAT);
+            if (!partitions.contains(partition)) {
+                jdbcTemplate.execute(String.format(ADD_PARTITION, partition, day.plusDays(1)));
+                partitions.add(partition);
+            }
+        }
+        String oldestKeptPartition = PARTITION_PREFIX + oldestKeptDay.format(PARTITION_DATE_FORMAT);
+        for (String partition : partitions) {
+            if (!partition.equals(MAX_PARTITION) && partition.compareTo(oldestKeptPartition) < 0) {
+                jdbcTemplate.execute(String.format(DROP_PARTITION, partition));
+                LOGGER.info("Dropped expired audit partition {}", partition);
+            }
+        }
+    }
+
+    private void deleteExpiredAudit(LocalDate oldestKeptDay) {
+        Timestamp oldestKeptTime = toTimestamp(oldestKeptDay);
+        int deleted;
+        do {
+            deleted = jdbcTemplate.update(DELETE_EXPIRED_AUDIT, oldestKeptTime, deleteChunkSize);
+        } while (deleted == deleteChunkSize);
+    }
+
+    private Timestamp toTimestamp(LocalDate day) {
+        return Timestamp.from(day.atStartOfDay(ZoneId.systemDefault()).toInstant());
+    }
+}
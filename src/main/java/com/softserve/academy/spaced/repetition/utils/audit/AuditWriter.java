@@ -0,0 +1,233 @@
+package com.softserve.academy.spaced.repetition.utils.audit;
+
+import com.softserve.academy.spaced.repetition.domain.Audit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.metrics.CounterService;
+import org.springframework.boot.actuate.metrics.GaugeService;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Writes audit events off the request thread. Events are put into a bounded queue and a background thread
+ * inserts them in JDBC batches once either the batch size or the batch age is reached. Events still queued
+ * on shutdown are flushed before the data source is closed. Every batch also adds its events to the hourly
+ * per-action counts in the same transaction. Every node runs its own writer, so a count row may be created
+ * concurrently by another node: on MySQL the counts are added with a single upsert, elsewhere an insert that
+ * hits the unique key of the hour and action falls back to an update. Counts are written in the order of hour
+ * and action, so concurrent batches lock the rows in the same order.
+ */
+@Component
+public class AuditWriter {
+    private static final Logger LOGGER = LoggerFactory.getLogger(AuditWriter.class);
+    private static final String INSERT_AUDIT =
+            "INSERT INTO audit (account_email, action, time, ip_address, role) VALUES (?, ?, ?, ?, ?)";
+    private static final String UPDATE_HOURLY_COUNT =
+            "UPDATE audit_hourly_count SET event_count = event_count + ? WHERE hour_start = ? AND action = ?";
+    private static final String INSERT_HOURLY_COUNT =
+            "INSERT INTO audit_hourly_count (hour_start, action, event_count) VALUES (?, ?, ?)";
+    private static final String UPSERT_HOURLY_COUNT = INSERT_HOURLY_COUNT +
+            " ON DUPLICATE KEY UPDATE event_count = event_count + VALUES(event_count)";
+    private static final String MYSQL = "MySQL";
+    private static final String QUEUE_DEPTH_GAUGE = "audit.queue.depth";
+    private static final String BATCH_SIZE_GAUGE = "audit.batch.size";
+    private static final String BATCH_COUNTER = "audit.batches";
+    private static final String DROPPED_COUNTER = "audit.dropped";
+    private static final String FAILED_COUNTER = "audit.failed";
+    // sampling starts when the queue is filled up to this fraction of its capacity
+    private static final double SAMPLING_THRESHOLD = 0.75;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final CounterService counterService;
+    private final GaugeService gaugeService;
+    private final AtomicLong sampledEvents = new AtomicLong();
+
+    @Value("${app.audit.queueCapacity:10000}")
+    private int queueCapacity;
+
+    @Value("${app.audit.batchSize:100}")
+    private int batchSize;
+
+    @Value("${app.audit.maxBatchAge:1000}")
+    private long maxBatchAge;
+
+    @Value("${app.audit.backpressurePolicy:DROP_OLDEST}")
+    private AuditBackpressurePolicy backpressurePolicy;
+
+    @Value("${app.audit.blockTimeout:100}")
+    private long blockTimeout;
+
+    @Value("${app.audit.sampleRate:10}")
+    private int sampleRate;
+
+    private BlockingQueue<Audit> queue;
+    private Thread writerThread;
+    private volatile boolean running;
+    private boolean upsertSupported;
+
+    @Autowired
+    public AuditWriter(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                       CounterService counterService, GaugeService gaugeService) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.counterService = counterService;
+        this.gaugeService = gaugeService;
+    }
+
+    @PostConstruct
+    public void start() {
+        upsertSupported = MYSQL.equals(jdbcTemplate.execute(
+                (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName()));
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        running = true;
+        writerThread = new Thread(this::writeBatches, "audit-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    /**
+     * Stops accepting events and waits until the writer thread has flushed everything that was queued.
+     */
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        writerThread.join();
+    }
+
+    public void write(Audit audit) {
+        if (!running || !enqueue(audit)) {
+            counterService.increment(DROPPED_COUNTER);
+        }
+        gaugeService.submit(QUEUE_DEPTH_GAUGE, queue.size());
+    }
+
+    private boolean enqueue(Audit audit) {
+        switch (backpressurePolicy) {
+            case BLOCK:
+                try {
+                    return queue.offer(audit, blockTimeout, TimeUnit.MILLISECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+            case DROP_OLDEST:
+                while (!queue.offer(audit)) {
+                    if (queue.poll() != null) {
+                        counterService.increment(DROPPED_COUNTER);
+                    }
+                }
+                return true;
+            case SAMPLE:
+                if (queue.size() >= queueCapacity * SAMPLING_THRESHOLD
+                        && sampledEvents.incrementAndGet() % sampleRate != 0) {
+                    return false;
+                }
+                return queue.offer(audit);
+            default:
+                return queue.offer(audit);
+        }
+    }
+
+    private void writeBatches() {
+        List<Audit> batch = new ArrayList<>(batchSize);
+        long batchDeadline = 0;
+        while (running) {
+            try {
+                long timeout = batch.isEmpty() ? maxBatchAge : batchDeadline - System.currentTimeMillis();
+                Audit audit = queue.poll(Math.max(timeout, 0), TimeUnit.MILLISECONDS);
+                if (audit != null) {
+                    if (batch.isEmpty()) {
+                        batchDeadline = System.currentTimeMillis() + maxBatchAge;
+                    }
+                    batch.add(audit);
+                    queue.drainTo(batch, batchSize - batch.size());
+                }
+                if (batch.size() >= batchSize || !batch.isEmpty() && System.currentTimeMillis() >= batchDeadline) {
+                    insert(batch);
+                }
+            } catch (InterruptedException e) {
+                break;
+            }
+        }
+        while (!batch.isEmpty() || !queue.isEmpty()) {
+            queue.drainTo(batch, batchSize - batch.size());
+            insert(batch);
+        }
+    }
+
+    private void insert(List<Audit> batch) {
+        List<Object[]> rows = new ArrayList<>(batch.size());
+        for (Audit audit : batch) {
+            rows.add(new Object[]{audit.getAccountEmail(), audit.getAction().name(),
+                    new Timestamp(audit.getTime().getTime()), audit.getIpAddress(), audit.getRole()});
+        }
+        try {
+            transactionTemplate.execute(status -> {
+                jdbcTemplate.batchUpdate(INSERT_AUDIT, rows);
+                updateHourlyCounts(batch);
+                return null;
+            });
+            counterService.increment(BATCH_COUNTER);
+            gaugeService.submit(BATCH_SIZE_GAUGE, rows.size());
+        } catch (DataAccessException e) {
+            LOGGER.error("Failed to write {} audit events", rows.size(), e);
+            counterService.increment(FAILED_COUNTER);
+        }
+        batch.clear();
+    }
+
+    private void updateHourlyCounts(List<Audit> batch) {
+        Map<Long, Map<AuditingAction, Integer>> hourlyCounts = new TreeMap<>();
+        Calendar calendar = Calendar.getInstance();
+        for (Audit audit : batch) {
+            calendar.setTime(audit.getTime());
+            calendar.set(Calendar.MINUTE, 0);
+            calendar.set(Calendar.SECOND, 0);
+            calendar.set(Calendar.MILLISECOND, 0);
+            hourlyCounts.computeIfAbsent(calendar.getTimeInMillis(), hour -> new EnumMap<>(AuditingAction.class))
+                    .merge(audit.getAction(), 1, Integer::sum);
+        }
+        if (upsertSupported) {
+            List<Object[]> rows = new ArrayList<>();
+            hourlyCounts.forEach((hour, counts) -> counts.forEach((action, count) ->
+                    rows.add(new Object[]{new Timestamp(hour), action.name(), count})));
+            jdbcTemplate.batchUpdate(UPSERT_HOURLY_COUNT, rows);
+        } else {
+            hourlyCounts.forEach((hour, counts) -> counts.forEach((action, count) ->
+                    addHourlyCount(new Timestamp(hour), action, count)));
+        }
+    }
+
+    private void addHourlyCount(Timestamp hourStart, AuditingAction action, int count) {
+        if (jdbcTemplate.update(UPDATE_HOURLY_COUNT, count, hourStart, action.name()) == 0) {
+            try {
+                jdbcTemplate.update(INSERT_HOURLY_COUNT, hourStart, action.name(), count);
+            } catch (DuplicateKeyException e) {
+                // another node has created the row since the update
+                jdbcTemplate.update(UPDATE_HOURLY_COUNT, count, hourStart, action.name());
+            }
+        }
+    }
+}
@@ -0,0 +1,4 @@
+-- Indexes used by new-card selection and due-card lookups on user_card_queue.
+-- Run once on databases created before these indexes were declared on the UserCardQueue entity.
+CREATE INDEX user_card_queue_user_deck_card_idx ON user_card_queue (user_id, deck_id, card_id);
+CREATE INDEX user_card_queue_user_deck_date_to_repeat_idx ON user_card_queue (user_id, deck_id, date_to_repeat);
@@ -0,0 +1,6 @@
+-- Indexes used by the keyset-paginated audit query (newest first, optionally filtered).
+-- Run once on databases created before these indexes were declared on the Audit entity.
+CREATE INDEX audit_account_email_idx ON audit (account_email, audit_id);
+CREATE INDEX audit_action_idx ON audit (action, audit_id);
+CREATE INDEX audit_ip_address_idx ON audit (ip_address, audit_id);
+CREATE INDEX audit_time_idx ON audit (time, audit_id);
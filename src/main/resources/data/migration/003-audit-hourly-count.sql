@@ -0,0 +1,14 @@
+-- Hourly per-action audit counts, filled by the audit writer together with every batch of audit records.
+-- Partitioning of the audit table is not part of the numbered migrations, see optional/audit-partitions.sql.
+CREATE TABLE audit_hourly_count (
+  audit_hourly_count_id BIGINT NOT NULL AUTO_INCREMENT,
+  hour_start DATETIME NOT NULL,
+  action VARCHAR(255) NOT NULL,
+  event_count BIGINT NOT NULL,
+  PRIMARY KEY (audit_hourly_count_id),
+  CONSTRAINT audit_hourly_count_hour_action_uk UNIQUE (hour_start, action)
+);
+
+INSERT INTO audit_hourly_count (hour_start, action, event_count)
+  SELECT DATE_FORMAT(time, '%Y-%m-%d %H:00:00'), action, COUNT(*) FROM audit
+  GROUP BY DATE_FORMAT(time, '%Y-%m-%d %H:00:00'), action;
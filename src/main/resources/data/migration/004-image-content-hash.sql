@@ -0,0 +1,4 @@
+-- Image content moves from the imagebase64 LONGTEXT column to the file image store (app.images.storePath).
+-- Existing Base64 rows are moved by the application in the background after startup (app.images.migrateBase64).
+ALTER TABLE image ADD COLUMN content_hash VARCHAR(64);
+CREATE INDEX image_content_hash_idx ON image (content_hash);
@@ -0,0 +1,13 @@
+-- Background imports of cards from YAML files.
+CREATE TABLE card_import_job (
+  card_import_job_id BIGINT NOT NULL AUTO_INCREMENT,
+  deck_id BIGINT NOT NULL,
+  user_id BIGINT NOT NULL,
+  file_path VARCHAR(255) NOT NULL,
+  status VARCHAR(255) NOT NULL,
+  total_cards INTEGER,
+  processed_cards INTEGER NOT NULL,
+  error VARCHAR(255),
+  created DATETIME NOT NULL,
+  PRIMARY KEY (card_import_job_id)
+);
@@ -0,0 +1,5 @@
+-- Hash of the normalized question, used to find duplicates of imported cards without scanning the question column.
+-- Existing cards are hashed on startup by QuestionHashMigration with Card.hashQuestion, since SQL trims and
+-- lowercases text differently than Java.
+ALTER TABLE card ADD COLUMN question_hash VARCHAR(64);
+CREATE INDEX card_question_hash_idx ON card (question_hash);
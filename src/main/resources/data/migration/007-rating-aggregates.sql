@@ -0,0 +1,11 @@
+-- Running rating sums and counts, updated with every vote; the average in the rating column is derived from them.
+ALTER TABLE deck ADD COLUMN rating_sum BIGINT NOT NULL DEFAULT 0, ADD COLUMN rating_count INTEGER NOT NULL DEFAULT 0;
+ALTER TABLE course ADD COLUMN rating_sum BIGINT NOT NULL DEFAULT 0, ADD COLUMN rating_count INTEGER NOT NULL DEFAULT 0;
+ALTER TABLE card ADD COLUMN rating_sum BIGINT NOT NULL DEFAULT 0, ADD COLUMN rating_count INTEGER NOT NULL DEFAULT 0;
+
+UPDATE deck d JOIN (SELECT deck_id, SUM(rating) AS s, COUNT(*) AS c FROM deck_rating GROUP BY deck_id) r
+  ON r.deck_id = d.deck_id SET d.rating_sum = r.s, d.rating_count = r.c, d.rating = r.s / r.c;
+UPDATE course t JOIN (SELECT course_id, SUM(rating) AS s, COUNT(*) AS c FROM course_rating GROUP BY course_id) r
+  ON r.course_id = t.course_id SET t.rating_sum = r.s, t.rating_count = r.c, t.rating = r.s / r.c;
+UPDATE card t JOIN (SELECT card_id, SUM(rating) AS s, COUNT(*) AS c FROM card_rating GROUP BY card_id) r
+  ON r.card_id = t.card_id SET t.rating_sum = r.s, t.rating_count = r.c, t.rating = r.s / r.c;
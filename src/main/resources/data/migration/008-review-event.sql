@@ -0,0 +1,13 @@
+-- Append-only log of card answers uploaded by clients, compacted by ReviewLogCompactionJob.
+CREATE TABLE review_event (
+  event_id VARCHAR(64) NOT NULL,
+  user_id BIGINT NOT NULL,
+  deck_id BIGINT NOT NULL,
+  card_id BIGINT NOT NULL,
+  status VARCHAR(255) NOT NULL,
+  answered_at DATETIME NOT NULL,
+  received_at DATETIME NOT NULL,
+  PRIMARY KEY (user_id, event_id)
+);
+
+CREATE INDEX review_event_received_at_idx ON review_event (received_at);
@@ -0,0 +1,3 @@
+-- Per-card state of the scheduling algorithm of the learning regime (see CardScheduler), 0 for cards which
+-- were not answered in a regime with a scheduler yet.
+ALTER TABLE user_card_queue ADD COLUMN scheduler_state BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,6 @@
+-- Accounts whose tokens issued before revoked_at (epoch milliseconds) must not be trusted by their claims.
+CREATE TABLE jwt_revocation (
+  email VARCHAR(255) NOT NULL,
+  revoked_at BIGINT NOT NULL,
+  PRIMARY KEY (email)
+);
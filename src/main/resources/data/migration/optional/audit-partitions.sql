@@ -0,0 +1,6 @@
+-- Daily partitions of the audit table, needed for app.audit.retention.partitioned: true (MySQL only).
+-- Not part of the numbered migrations: it rebuilds the audit table, so run it once in a maintenance window
+-- before enabling the flag. The partitioning column has to be part of the primary key. The retention job
+-- splits pmax into daily partitions ahead of time and drops the expired ones.
+ALTER TABLE audit DROP PRIMARY KEY, ADD PRIMARY KEY (audit_id, time);
+ALTER TABLE audit PARTITION BY RANGE (TO_DAYS(time)) (PARTITION pmax VALUES LESS THAN MAXVALUE);
@@ -34,6 +34,8 @@ public class TestDatabaseConfig {
         // drop-and-create database
         Properties jpaProperties = new Properties();
         jpaProperties.put("javax.persistence.schema-generation.database.action", "drop-and-create");
+        // statement counts are asserted by tests of list queries
+        jpaProperties.put("hibernate.generate_statistics", "true");
         em.setJpaProperties(jpaProperties);
 
         HibernateJpaVendorAdapter vendorAdapter = new HibernateJpaVendorAdapter();
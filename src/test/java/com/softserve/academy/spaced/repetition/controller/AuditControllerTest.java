@@ -11,6 +11,7 @@ import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
@@ -21,6 +22,14 @@ import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
 @RunWith(MockitoJUnitRunner.class)
 public class AuditControllerTest {
     private MockMvc mockMvc;
@@ -51,6 +60,20 @@ public class AuditControllerTest {
 //                .andExpect(content().json("{\"content\":[{\"time\":\"Sun Apr 09 18:49:17 EET 19\",\"accountEmail\":\"admin@gmail.com\",\"action\":\"VIEW_TOP_CATEGORIES\",\"ipAddress\":\"0:0:0:0:0:0:0:1\",\"role\":\"ROLE_ADMIN\",\"links\":[{\"rel\":\"self\",\"href\":\"http://localhost/api/admin/audit?pageNumber=1&sortBy=id&ascending=true\"}]},{\"time\":\"Sun Apr 09 18:49:17 EET 19\",\"accountEmail\":\"admin@gmail.com\",\"action\":\"VIEW_TOP_COURSES\",\"ipAddress\":\"0:0:0:0:0:0:0:1\",\"role\":\"ROLE_ADMIN\",\"links\":[{\"rel\":\"self\",\"href\":\"http://localhost/api/admin/audit?pageNumber=1&sortBy=id&ascending=true\"}]},{\"time\":\"Sun Apr 09 18:50:01 EET 19\",\"accountEmail\":\"admin@gmail.com\",\"action\":\"VIEW_ALL_CATEGORIES\",\"ipAddress\":\"0:0:0:0:0:0:0:1\",\"role\":\"ROLE_ADMIN\",\"links\":[{\"rel\":\"self\",\"href\":\"http://localhost/api/admin/audit?pageNumber=1&sortBy=id&ascending=true\"}]},{\"time\":\"Sun Apr 09 18:50:02 EET 19\",\"accountEmail\":\"admin@gmail.com\",\"action\":\"VIEW_TOP_CATEGORIES\",\"ipAddress\":\"0:0:0:0:0:0:0:1\",\"role\":\"ROLE_ADMIN\",\"links\":[{\"rel\":\"self\",\"href\":\"http://localhost/api/admin/audit?pageNumber=1&sortBy=id&ascending=true\"}]},{\"time\":\"Sun Apr 09 18:50:04 EET 19\",\"accountEmail\":\"admin@gmail.com\",\"action\":\"VIEW_TOP_COURSES\",\"ipAddress\":\"0:0:0:0:0:0:0:1\",\"role\":\"ROLE_ADMIN\",\"links\":[{\"rel\":\"self\",\"href\":\"http://localhost/api/admin/audit?pageNumber=1&sortBy=id&ascending=true\"}]},{\"time\":\"Sun Apr 09 18:50:24 EET 19\",\"accountEmail\":\"admin@gmail.com\",\"action\":\"VIEW_ALL_CATEGORIES\",\"ipAddress\":\"0:0:0:0:0:0:0:1\",\"role\":\"ROLE_ADMIN\",\"links\":[{\"rel\":\"self\",\"href\":\"http://localhost/api/admin/audit?pageNumber=1&sortBy=id&ascending=true\"}]},{\"time\":\"Sun Apr 09 18:50:25 EET 19\",\"accountEmail\":\"admin@gmail.com\",\"action\":\"VIEW_DECKS_ADMIN\",\"ipAddress\":\"0:0:0:0:0:0:0:1\",\"role\":\"ROLE_ADMIN\",\"links\":[{\"rel\":\"self\",\"href\":\"http://localhost/api/admin/audit?pageNumber=1&sortBy=id&ascending=true\"}]},{\"time\":\"Sun Apr 09 18:50:35 EET 19\",\"accountEmail\":\"admin@gmail.com\",\"action\":\"VIEW_ALL_USERS_ADMIN\",\"ipAddress\":\"0:0:0:0:0:0:0:1\",\"role\":\"ROLE_ADMIN\",\"links\":[{\"rel\":\"self\",\"href\":\"http://localhost/api/admin/audit?pageNumber=1&sortBy=id&ascending=true\"}]},{\"time\":\"Sun Apr 09 18:51:14 EET 19\",\"accountEmail\":\"admin@gmail.com\",\"action\":\"VIEW_ALL_USERS_ADMIN\",\"ipAddress\":\"0:0:0:0:0:0:0:1\",\"role\":\"ROLE_ADMIN\",\"links\":[{\"rel\":\"self\",\"href\":\"http://localhost/api/admin/audit?pageNumber=1&sortBy=id&ascending=true\"}]},{\"time\":\"Sun Apr 09 18:51:18 EET 19\",\"accountEmail\":\"admin@gmail.com\",\"action\":\"VIEW_ALL_USERS_ADMIN\",\"ipAddress\":\"0:0:0:0:0:0:0:1\",\"role\":\"ROLE_ADMIN\",\"links\":[{\"rel\":\"self\",\"href\":\"http://localhost/api/admin/audit?pageNumber=1&sortBy=id&ascending=true\"}]}],\"totalPages\":1,\"totalElements\":10,\"last\":true,\"size\":0,\"number\":0,\"numberOfElements\":10,\"sort\":null,\"first\":true}"));
     }
 
+    @Test
+    public void getAuditBefore() throws Exception {
+        when(auditService.getAuditBefore(10L, "admin@gmail.com", AuditingAction.VIEW_TOP_COURSES, null, null, null, 2))
+                .thenReturn(createAudit().getContent().subList(0, 2));
+        mockMvc.perform(get("/api/admin/audit/query?before=10&email=admin@gmail.com&action=VIEW_TOP_COURSES&size=2")
+                .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].accountEmail", is("admin@gmail.com")))
+                .andExpect(jsonPath("$[1].action", is("VIEW_TOP_COURSES")));
+        verify(auditService).getAuditBefore(10L, "admin@gmail.com", AuditingAction.VIEW_TOP_COURSES,
+                null, null, null, 2);
+    }
+
     private Page<Audit> createAudit() throws ParseException {
         List<Audit> auditList = new ArrayList<>();
         DateFormat dateFormat = new SimpleDateFormat("dd-MM-yyyy HH:mm:ss.SSS");
@@ -0,0 +1,124 @@
+package com.softserve.academy.spaced.repetition.controller.utils.dto;
+
+import org.hibernate.proxy.HibernateProxy;
+import org.hibernate.proxy.LazyInitializer;
+import org.junit.Test;
+import org.springframework.hateoas.Link;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+public class DTOBuilderTest {
+    private static final Long ENTITY_ID = 7L;
+    private static final Link COLLECTION_LINK = new Link("http://localhost/api/entities");
+    private static final RuntimeException CONSTRUCTOR_FAILURE = new IllegalStateException("constructor failed");
+    private static final IOException CHECKED_CONSTRUCTOR_FAILURE = new IOException("constructor failed");
+
+    @Test
+    public void buildFromHibernateProxyOfEntity() {
+        TestEntity proxy = new TestEntityProxy(ENTITY_ID);
+
+        assertSame(proxy, DTOBuilder.buildDtoForEntity(proxy, TestDTO.class).getEntity());
+        List<TestDTO> dtos = DTOBuilder.buildDtoListForCollection(
+                Collections.singletonList(proxy), TestDTO.class, COLLECTION_LINK);
+        assertSame(proxy, dtos.get(0).getEntity());
+        assertEquals(COLLECTION_LINK.getHref() + "/" + ENTITY_ID, dtos.get(0).getId().getHref());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectDtoWithoutMatchingConstructor() {
+        DTOBuilder.buildDtoForEntity(new TestEntity(ENTITY_ID), UnlinkedDTO.class, COLLECTION_LINK);
+    }
+
+    @Test
+    public void rethrowRuntimeExceptionOfConstructor() {
+        try {
+            DTOBuilder.buildDtoForEntity(new TestEntity(ENTITY_ID), FailingDTO.class);
+            fail("Exception of the constructor was swallowed");
+        } catch (RuntimeException e) {
+            assertSame(CONSTRUCTOR_FAILURE, e);
+        }
+    }
+
+    @Test
+    public void wrapCheckedExceptionOfConstructor() {
+        try {
+            DTOBuilder.buildDtoForEntity(new TestEntity(ENTITY_ID), CheckedFailingDTO.class);
+            fail("Exception of the constructor was swallowed");
+        } catch (IllegalStateException e) {
+            assertSame(CHECKED_CONSTRUCTOR_FAILURE, e.getCause());
+        }
+    }
+
+    public static class TestEntity implements EntityInterface {
+        private final Long id;
+
+        public TestEntity(Long id) {
+            this.id = id;
+        }
+
+        @Override
+        public Long getId() {
+            return id;
+        }
+    }
+
+    /**
+     * Stands for the runtime subclass Hibernate generates for lazy associations.
+     */
+    public static class TestEntityProxy extends TestEntity implements HibernateProxy {
+
+        public TestEntityProxy(Long id) {
+            super(id);
+        }
+
+        @Override
+        public Object writeReplace() {
+            return this;
+        }
+
+        @Override
+        public LazyInitializer getHibernateLazyInitializer() {
+            return null;
+        }
+    }
+
+    public static class TestDTO extends DTO<TestEntity> {
+
+        public TestDTO(TestEntity entity) {
+            super(entity);
+        }
+
+        public TestDTO(TestEntity entity, Link link) {
+            super(entity, link);
+        }
+    }
+
+    public static class UnlinkedDTO extends DTO<TestEntity> {
+
+        public UnlinkedDTO(TestEntity entity) {
+            super(entity);
+        }
+    }
+
+    public static class FailingDTO extends DTO<TestEntity> {
+
+        public FailingDTO(TestEntity entity) {
+            super(entity);
+            throw CONSTRUCTOR_FAILURE;
+        }
+    }
+
+    public static class CheckedFailingDTO extends DTO<TestEntity> {
+
+        public CheckedFailingDTO(TestEntity entity) throws IOException {
+            super(entity);
+            throw CHECKED_CONSTRUCTOR_FAILURE;
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package com.softserve.academy.spaced.repetition.repository;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.softserve.academy.spaced.repetition.config.TestDatabaseConfig;
+import com.softserve.academy.spaced.repetition.controller.utils.dto.DTOBuilder;
+import com.softserve.academy.spaced.repetition.controller.utils.dto.impl.CategoryTopDTO;
+import com.softserve.academy.spaced.repetition.controller.utils.dto.impl.CourseLinkDTO;
+import com.softserve.academy.spaced.repetition.controller.utils.dto.impl.DeckOfUserManagedByAdminDTO;
+import com.softserve.academy.spaced.repetition.controller.utils.dto.impl.DeckPrivateDTO;
+import com.softserve.academy.spaced.repetition.controller.utils.dto.impl.DeckPublicDTO;
+import com.softserve.academy.spaced.repetition.domain.Account;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.hateoas.Link;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.PersistenceContext;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Maps the rows of list queries to the DTOs of their endpoints and checks that the DTOs do not load
+ * associations row by row. The limits count the statements for the whole page of the test data; besides the
+ * list and count queries only the authorities of the owners are selected, in a single batch for all of them.
+ */
+@RunWith(SpringRunner.class)
+@ActiveProfiles("testdatabase")
+@SpringBootTest
+@Import(TestDatabaseConfig.class)
+@Sql("/data/TestData.sql")
+@Transactional
+public class ListQueryStatementsTest {
+
+    private static final PageRequest PAGE_BY_NAME = new PageRequest(0, 20, Sort.Direction.ASC, "name");
+    private static final Link SELF_LINK = new Link("http://localhost/api/test");
+    private static final List<Long> RANKED_IDS = Arrays.asList(3L, 1L, 2L);
+    private static final Long CATEGORY_ID = 1L;
+    private static final String AUTHORITIES_ROLE = Account.class.getName() + ".authorities";
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private DeckRepository deckRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private Statistics statistics;
+
+    @Before
+    public void setUp() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        entityManager.clear();
+        statistics.clear();
+    }
+
+    @After
+    public void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    public void testPageOfCourses() throws Exception {
+        List<CourseLinkDTO> courses = DTOBuilder.buildDtoListForCollection(
+                courseRepository.findAll(PAGE_BY_NAME).getContent(), CourseLinkDTO.class, SELF_LINK);
+        assertStatementsAtMost(3, courses);
+    }
+
+    @Test
+    public void testTopCategories() throws Exception {
+        List<CategoryTopDTO> categories = DTOBuilder.buildDtoListForCollection(
+                categoryRepository.findTop8ByOrderById(), CategoryTopDTO.class, SELF_LINK);
+        assertStatementsAtMost(2, categories);
+    }
+
+    @Test
+    public void testPageOfAdminDecks() throws Exception {
+        List<DeckOfUserManagedByAdminDTO> decks = DTOBuilder.buildDtoListForCollection(
+                deckRepository.findAll(PAGE_BY_NAME).getContent(), DeckOfUserManagedByAdminDTO.class, SELF_LINK);
+        assertStatementsAtMost(7, decks);
+    }
+
+    @Test
+    public void testDecksOfUser() throws Exception {
+        List<DeckPrivateDTO> decks = DTOBuilder.buildDtoListForCollection(
+                deckRepository.findAllByDeckOwnerIdEquals(1L), DeckPrivateDTO.class, SELF_LINK);
+        assertStatementsAtMost(3, decks);
+    }
+
+    @Test
+    public void testOrderedDecks() throws Exception {
+        List<DeckPublicDTO> decks = DTOBuilder.buildDtoListForCollection(
+                deckRepository.findAll(RANKED_IDS), DeckPublicDTO.class, SELF_LINK);
+        assertStatementsAtMost(1, decks);
+    }
+
+    @Test
+    public void testOrderedAndTopCourses() throws Exception {
+        giveCoursesDistinctOwners();
+        List<CourseLinkDTO> courses = DTOBuilder.buildDtoListForCollection(
+                courseRepository.findAll(RANKED_IDS), CourseLinkDTO.class, SELF_LINK);
+        assertStatementsAtMost(2, courses);
+    }
+
+    @Test
+    public void testPageOfCoursesOfCategory() throws Exception {
+        giveCoursesDistinctOwners();
+        List<CourseLinkDTO> courses = DTOBuilder.buildDtoListForCollection(courseRepository.findAllByCategoryEquals(
+                categoryRepository.getOne(CATEGORY_ID), PAGE_BY_NAME).getContent(), CourseLinkDTO.class, SELF_LINK);
+        assertStatementsAtMost(3, courses);
+    }
+
+    @Test
+    public void testPublishedCoursesOfCategory() throws Exception {
+        giveCoursesDistinctOwners();
+        List<CourseLinkDTO> courses = DTOBuilder.buildDtoListForCollection(
+                courseRepository.getAllCoursesByCategoryIdAndPublishedTrue(CATEGORY_ID), CourseLinkDTO.class,
+                SELF_LINK);
+        assertStatementsAtMost(2, courses);
+    }
+
+    @Test
+    public void testPublishedCourses() throws Exception {
+        giveCoursesDistinctOwners();
+        List<CourseLinkDTO> courses = DTOBuilder.buildDtoListForCollection(
+                courseRepository.findAllByPublishedTrue(), CourseLinkDTO.class, SELF_LINK);
+        assertStatementsAtMost(2, courses);
+    }
+
+    /**
+     * All courses of the test data belong to one user, which would hide selects repeated per owner.
+     */
+    private void giveCoursesDistinctOwners() {
+        jdbcTemplate.update("UPDATE course SET user_id = course_id");
+        statistics.clear();
+    }
+
+    private void assertStatementsAtMost(long limit, List<?> dtos) throws Exception {
+        assertFalse(dtos.isEmpty());
+        objectMapper.writeValueAsString(dtos);
+        long statements = statistics.getPrepareStatementCount();
+        assertTrue("Expected at most " + limit + " statements, but was " + statements, statements <= limit);
+        long authorityFetches = statistics.getCollectionStatistics(AUTHORITIES_ROLE).getFetchCount();
+        assertTrue("Expected authorities in one fetch, but was " + authorityFetches, authorityFetches <= 1);
+    }
+}
@@ -0,0 +1,63 @@
+package com.softserve.academy.spaced.repetition.security;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.powermock.reflect.Whitebox;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.sql.ResultSet;
+import java.util.Date;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.*;
+
+public class JwtRevocationCacheTest {
+    private static final String EMAIL = "test@gmail.com";
+
+    private JdbcTemplate jdbcTemplate;
+    private JwtRevocationCache jwtRevocationCache;
+
+    @Before
+    public void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        jwtRevocationCache = new JwtRevocationCache(jdbcTemplate);
+        Whitebox.setInternalState(jwtRevocationCache, "expiration", 604800L);
+    }
+
+    @Test
+    public void treatTokensAsRevokedUntilLoaded() {
+        assertTrue(jwtRevocationCache.isRevoked(EMAIL, new Date()));
+        jwtRevocationCache.refresh();
+        assertFalse(jwtRevocationCache.isRevoked(EMAIL, new Date()));
+    }
+
+    @Test
+    public void revokeTokensIssuedBeforeChange() {
+        jwtRevocationCache.refresh();
+        Date issued = new Date(System.currentTimeMillis() - 60000);
+        jwtRevocationCache.revoke(EMAIL);
+        assertTrue(jwtRevocationCache.isRevoked(EMAIL, issued));
+        assertFalse(jwtRevocationCache.isRevoked(EMAIL, new Date(System.currentTimeMillis() + 60000)));
+        verify(jdbcTemplate).update(anyString(), anyLong(), eq(EMAIL));
+        verify(jdbcTemplate).update(anyString(), eq(EMAIL), anyLong());
+    }
+
+    @Test
+    public void loadRevocationsOfOtherNodes() {
+        doAnswer(invocation -> {
+            ResultSet resultSet = mock(ResultSet.class);
+            when(resultSet.getString(1)).thenReturn(EMAIL);
+            when(resultSet.getLong(2)).thenReturn(System.currentTimeMillis());
+            ((RowCallbackHandler) invocation.getArguments()[1]).processRow(resultSet);
+            return null;
+        }).when(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class), anyLong());
+        jwtRevocationCache.refresh();
+        assertTrue(jwtRevocationCache.isRevoked(EMAIL, new Date(System.currentTimeMillis() - 60000)));
+    }
+}
@@ -1,9 +1,15 @@
 package com.softserve.academy.spaced.repetition.security;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Matchers.anyObject;
+import static org.mockito.Mockito.times;
 
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
@@ -17,6 +23,7 @@ import org.powermock.core.classloader.annotations.PrepareForTest;
 import org.powermock.modules.junit4.PowerMockRunner;
 import org.powermock.reflect.Whitebox;
 import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
 import io.jsonwebtoken.Claims;
@@ -84,6 +91,36 @@ public class JwtTokenUtilTest {
         assertEquals(expiration.toString(), date.toString());
     }
 
+    @Test
+    public void parseToken() throws Exception {
+        jwtTokenUtil = new JwtTokenUtil();
+        Whitebox.setInternalState(jwtTokenUtil, "secret", "mySecret");
+        JwtToken jwtToken = jwtTokenUtil.parseToken(token);
+        assertEquals("test@gmail.com", jwtToken.getUsername());
+        assertEquals("mobile", jwtToken.getAudience());
+        assertEquals(created, jwtToken.getCreated());
+        assertEquals(expiration.toString(), jwtToken.getExpiration().toString());
+        assertFalse(jwtToken.hasPrincipalClaims());
+    }
+
+    @Test
+    public void parseTokenWithWrongSignature() throws Exception {
+        jwtTokenUtil = new JwtTokenUtil();
+        Whitebox.setInternalState(jwtTokenUtil, "secret", "otherSecret");
+        assertNull(jwtTokenUtil.parseToken(token));
+    }
+
+    @Test
+    public void parseTokenFromCache() throws Exception {
+        jwtTokenUtil = PowerMockito.spy(new JwtTokenUtil());
+        Whitebox.setInternalState(jwtTokenUtil, "secret", "mySecret");
+        Whitebox.setInternalState(jwtTokenUtil, "parsedTokenCacheSize", 10);
+        JwtToken firstParse = jwtTokenUtil.parseToken(token);
+        JwtToken secondParse = jwtTokenUtil.parseToken(token);
+        assertSame(firstParse, secondParse);
+        PowerMockito.verifyPrivate(jwtTokenUtil, times(1)).invoke("getClaimsFromToken", anyObject());
+    }
+
     @Test
     public void generateToken() throws Exception {
         jwtTokenUtil = PowerMockito.spy(new JwtTokenUtil());
@@ -134,6 +171,21 @@ public class JwtTokenUtilTest {
 
     }
 
+    @Test
+    public void generateTokenWithPrincipalClaims() throws Exception {
+        jwtTokenUtil = PowerMockito.spy(new JwtTokenUtil());
+        PowerMockito.doReturn("mobile").when(jwtTokenUtil, "generateAudience", anyObject());
+        Whitebox.setInternalState(jwtTokenUtil, "secret", "mySecret");
+        Whitebox.setInternalState(jwtTokenUtil, "expiration", 1000L);
+        JwtUser user = new JwtUser(1L, "test@gmail.com", null,
+                Collections.singletonList(new SimpleGrantedAuthority("ROLE_USER")), null, true);
+        JwtToken jwtToken = jwtTokenUtil.parseToken(jwtTokenUtil.generateToken(user, null));
+        assertTrue(jwtToken.hasPrincipalClaims());
+        JwtUser principal = JwtUserFactory.create(jwtToken);
+        assertEquals(Long.valueOf(1L), principal.getId());
+        assertFalse(principal.isAccountNonLocked());
+    }
+
     @Test
     public void canTokenBeRefreshed() throws Exception {
     }
@@ -6,6 +6,7 @@ import static org.mockito.Mockito.when;
 
 import com.softserve.academy.spaced.repetition.utils.exceptions.UserStatusException;
 import com.softserve.academy.spaced.repetition.service.impl.DeckRatingServiceImpl;
+import com.softserve.academy.spaced.repetition.service.rating.RatingAccumulator;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -17,6 +18,11 @@ import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.jdbc.Sql;
 import org.springframework.test.context.junit4.SpringRunner;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
 
 import com.softserve.academy.spaced.repetition.config.TestDatabaseConfig;
 import com.softserve.academy.spaced.repetition.domain.Account;
@@ -47,6 +53,12 @@ public class DeckRatingServiceTest {
     @Autowired
     private DeckRepository deckRepository;
 
+    @Autowired
+    private RatingAccumulator ratingAccumulator;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
     @Mock
     private UserService mockedUserService;
 
@@ -56,6 +68,7 @@ public class DeckRatingServiceTest {
         deckRatingServiceUnderTest.setUserService(mockedUserService);
         deckRatingServiceUnderTest.setDeckRatingRepository(deckRatingRepository);
         deckRatingServiceUnderTest.setDeckRepository(deckRepository);
+        deckRatingServiceUnderTest.setRatingAccumulator(ratingAccumulator);
     }
 
     @Test
@@ -69,14 +82,41 @@ public class DeckRatingServiceTest {
         when(mockedUserService.getAuthorizedUser()).thenReturn(mockedUser2);
         deckRatingServiceUnderTest.addDeckRating(4, DECK_ID);
 
+        addCommittedVotes();
+        ratingAccumulator.flush();
+        entityManager.clear();
         Deck deck = deckRepository.getDeckById(DECK_ID);
 
         assertEquals("Average rating.", 3.0, deck.getRating(), 0.0001);
     }
 
+    @Test
+    public void testChangedDeckRating() throws NotAuthorisedUserException, UserStatusException {
+
+        User mockedUser = new User(new Account("","email1@email.com"), new Person("first1", "last1"), new Folder());
+        when(mockedUserService.getAuthorizedUser()).thenReturn(mockedUser);
+        deckRatingServiceUnderTest.addDeckRating(2, DECK_ID);
+        deckRatingServiceUnderTest.addDeckRating(5, DECK_ID);
+
+        addCommittedVotes();
+        ratingAccumulator.flush();
+        entityManager.clear();
+        Deck deck = deckRepository.getDeckById(DECK_ID);
+
+        assertEquals("Number of votes.", 1, deck.getRatingCount());
+        assertEquals("Average rating.", 5.0, deck.getRating(), 0.0001);
+    }
+
     @Test
     public void testGetRating() {
         DeckRating rating = deckRatingServiceUnderTest.getDeckRatingById(-77L);
         assertNull("Trying to find.", rating);
     }
+
+    /**
+     * The test transaction is rolled back, so the votes waiting for its commit are handed over manually.
+     */
+    private void addCommittedVotes() {
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+    }
 }
@@ -0,0 +1,200 @@
+package com.softserve.academy.spaced.repetition.service;
+
+import com.softserve.academy.spaced.repetition.config.TestDatabaseConfig;
+import com.softserve.academy.spaced.repetition.controller.utils.dto.CardReviewDTO;
+import com.softserve.academy.spaced.repetition.domain.Account;
+import com.softserve.academy.spaced.repetition.domain.User;
+import com.softserve.academy.spaced.repetition.domain.UserCardQueue;
+import com.softserve.academy.spaced.repetition.domain.enums.LearningRegime;
+import com.softserve.academy.spaced.repetition.domain.enums.UserCardQueueStatus;
+import com.softserve.academy.spaced.repetition.repository.AccountRepository;
+import com.softserve.academy.spaced.repetition.repository.RememberingLevelRepository;
+import com.softserve.academy.spaced.repetition.repository.UserCardQueueRepository;
+import com.softserve.academy.spaced.repetition.service.cache.DueCardIndex;
+import com.softserve.academy.spaced.repetition.service.cache.DueCountCache;
+import com.softserve.academy.spaced.repetition.service.cache.RememberingLevelCache;
+import com.softserve.academy.spaced.repetition.service.impl.AccountServiceImpl;
+import com.softserve.academy.spaced.repetition.service.impl.UserCardQueueServiceImpl;
+import com.softserve.academy.spaced.repetition.service.scheduling.CardSchedulers;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.util.Arrays;
+import java.util.Date;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.mockito.Mockito.when;
+
+@RunWith(SpringRunner.class)
+@ActiveProfiles("testdatabase")
+@SpringBootTest
+@Import(TestDatabaseConfig.class)
+@Sql("/data/TestData.sql")
+@Transactional
+public class UserCardQueueReviewsServiceTest {
+    private static final int DAY_IN_MILLISECONDS = 24 * 60 * 60 * 1000;
+    private static final Long ACCOUNT_ID = 1L;
+    private static final Long USER_ID = 1L;
+    private static final Long OTHER_USER_ID = 2L;
+    private static final Long DECK_ID = 1L;
+    private static final Long CARD_ID = 2L;
+    private static final Long OTHER_CARD_ID = 3L;
+
+    private UserCardQueueService userCardQueueService;
+
+    @Autowired
+    private UserCardQueueRepository userCardQueueRepository;
+
+    @Autowired
+    private RememberingLevelRepository rememberingLevelRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private DueCardIndex dueCardIndex;
+
+    @Autowired
+    private RememberingLevelCache rememberingLevelCache;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CardSchedulers cardSchedulers;
+
+    @Autowired
+    private DueCountCache dueCountCache;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Mock
+    private UserService mockedUserService;
+
+    @Before
+    public void setUp() throws Exception {
+        userCardQueueService = new UserCardQueueServiceImpl(userCardQueueRepository, mockedUserService,
+                rememberingLevelRepository, dueCardIndex, rememberingLevelCache, jdbcTemplate, cardSchedulers,
+                dueCountCache);
+        Account account = new Account();
+        account.setId(ACCOUNT_ID);
+        account.setLearningRegime(LearningRegime.CARDS_POSTPONING_USING_SPACED_REPETITION);
+        User user = new User();
+        user.setId(USER_ID);
+        user.setAccount(account);
+        when(mockedUserService.getAuthorizedUser()).thenReturn(user);
+    }
+
+    @Test
+    public void testAnswersAreAppliedInOrder() throws Exception {
+        Date firstAnswer = new Date(System.currentTimeMillis() - 60000);
+        Date secondAnswer = new Date(System.currentTimeMillis() - 30000);
+        userCardQueueService.updateUserCardQueues(DECK_ID, Arrays.asList(
+                new CardReviewDTO(CARD_ID, UserCardQueueStatus.GOOD, secondAnswer),
+                new CardReviewDTO(OTHER_CARD_ID, UserCardQueueStatus.BAD, firstAnswer),
+                new CardReviewDTO(CARD_ID, UserCardQueueStatus.GOOD, firstAnswer)));
+        entityManager.flush();
+        userCardQueueService.updateUserCardQueues(DECK_ID, Arrays.asList(
+                new CardReviewDTO(CARD_ID, UserCardQueueStatus.BAD, secondAnswer)));
+        entityManager.flush();
+        entityManager.clear();
+
+        UserCardQueue userCardQueue = userCardQueueRepository.findUserCardQueueByUserIdAndCardId(USER_ID, CARD_ID);
+        assertEquals(2, userCardQueue.getRememberingLevel().getOrderNumber().intValue());
+        assertEquals(secondAnswer, userCardQueue.getCardDate());
+        assertEquals(new Date(secondAnswer.getTime()
+                        + userCardQueue.getRememberingLevel().getNumberOfPostponedDays() * DAY_IN_MILLISECONDS),
+                userCardQueue.getDateToRepeat());
+
+        UserCardQueue otherUserCardQueue =
+                userCardQueueRepository.findUserCardQueueByUserIdAndCardId(USER_ID, OTHER_CARD_ID);
+        assertEquals(1, otherUserCardQueue.getRememberingLevel().getOrderNumber().intValue());
+        assertEquals(DECK_ID, otherUserCardQueue.getDeckId());
+    }
+
+    @Test
+    public void testReplayedEventsAreSkipped() throws Exception {
+        Date firstAnswer = new Date(System.currentTimeMillis() - 60000);
+        Date secondAnswer = new Date(System.currentTimeMillis() - 30000);
+        assertEquals(2, userCardQueueService.syncReviewLog(DECK_ID, Arrays.asList(
+                createEvent("event-1", UserCardQueueStatus.GOOD, firstAnswer),
+                createEvent("event-2", UserCardQueueStatus.GOOD, secondAnswer),
+                createEvent("event-1", UserCardQueueStatus.GOOD, firstAnswer))));
+        entityManager.flush();
+        assertEquals(1, userCardQueueService.syncReviewLog(DECK_ID, Arrays.asList(
+                createEvent("event-1", UserCardQueueStatus.GOOD, firstAnswer),
+                createEvent("event-2", UserCardQueueStatus.GOOD, secondAnswer),
+                createEvent("event-3", UserCardQueueStatus.BAD, new Date()))));
+        entityManager.flush();
+        entityManager.clear();
+
+        UserCardQueue userCardQueue = userCardQueueRepository.findUserCardQueueByUserIdAndCardId(USER_ID, CARD_ID);
+        assertEquals(2, userCardQueue.getRememberingLevel().getOrderNumber().intValue());
+    }
+
+    @Test
+    public void testEventIdsOfOtherUsersDoNotCollide() throws Exception {
+        Date answeredAt = new Date(System.currentTimeMillis() - 60000);
+        jdbcTemplate.update("INSERT INTO review_event (event_id, user_id, deck_id, card_id, status, answered_at, " +
+                "received_at) VALUES (?, ?, ?, ?, ?, ?, ?)", "event-1", OTHER_USER_ID, DECK_ID, CARD_ID,
+                UserCardQueueStatus.GOOD.name(), answeredAt, answeredAt);
+        assertEquals(1, userCardQueueService.syncReviewLog(DECK_ID, Arrays.asList(
+                createEvent("event-1", UserCardQueueStatus.GOOD, answeredAt))));
+    }
+
+    @Test
+    public void testEventsAnsweredBeforeLastAnswerAreNotApplied() throws Exception {
+        Date lastAnswer = new Date(System.currentTimeMillis() - 60000);
+        assertEquals(1, userCardQueueService.syncReviewLog(DECK_ID, Arrays.asList(
+                createEvent("event-1", UserCardQueueStatus.GOOD, lastAnswer))));
+        entityManager.flush();
+        assertEquals(0, userCardQueueService.syncReviewLog(DECK_ID, Arrays.asList(
+                createEvent("event-2", UserCardQueueStatus.BAD, new Date(lastAnswer.getTime() - 60000)))));
+        entityManager.flush();
+        entityManager.clear();
+
+        UserCardQueue userCardQueue = userCardQueueRepository.findUserCardQueueByUserIdAndCardId(USER_ID, CARD_ID);
+        assertEquals(lastAnswer, userCardQueue.getCardDate());
+        assertEquals(2, userCardQueue.getRememberingLevel().getOrderNumber().intValue());
+    }
+
+    @Test
+    public void testSchedulerStatesAreResetOnRegimeChange() throws Exception {
+        mockedUserService.getAuthorizedUser().getAccount().setLearningRegime(LearningRegime.SM2_SPACED_REPETITION);
+        userCardQueueService.updateUserCardQueues(DECK_ID, Arrays.asList(
+                new CardReviewDTO(CARD_ID, UserCardQueueStatus.GOOD, new Date())));
+        entityManager.flush();
+        entityManager.clear();
+        assertNotEquals(0, userCardQueueRepository.findUserCardQueueByUserIdAndCardId(USER_ID, CARD_ID)
+                .getSchedulerState());
+
+        AccountService accountService = new AccountServiceImpl(accountRepository, rememberingLevelRepository,
+                mockedUserService, null, null, null, null, rememberingLevelCache, userCardQueueRepository);
+        accountService.updateLearningRegime(LearningRegime.FSRS_SPACED_REPETITION.name());
+        entityManager.flush();
+        entityManager.clear();
+
+        assertEquals(0, userCardQueueRepository.findUserCardQueueByUserIdAndCardId(USER_ID, CARD_ID)
+                .getSchedulerState());
+    }
+
+    private CardReviewDTO createEvent(String eventId, UserCardQueueStatus status, Date answeredAt) {
+        CardReviewDTO event = new CardReviewDTO(CARD_ID, status, answeredAt);
+        event.setEventId(eventId);
+        return event;
+    }
+}
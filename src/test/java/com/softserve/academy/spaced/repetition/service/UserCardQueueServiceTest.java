@@ -7,7 +7,11 @@ import com.softserve.academy.spaced.repetition.domain.enums.UserCardQueueStatus;
 import com.softserve.academy.spaced.repetition.utils.exceptions.NotAuthorisedUserException;
 import com.softserve.academy.spaced.repetition.repository.RememberingLevelRepository;
 import com.softserve.academy.spaced.repetition.repository.UserCardQueueRepository;
+import com.softserve.academy.spaced.repetition.service.cache.DueCardIndex;
+import com.softserve.academy.spaced.repetition.service.cache.DueCountCache;
+import com.softserve.academy.spaced.repetition.service.cache.RememberingLevelCache;
 import com.softserve.academy.spaced.repetition.service.impl.UserCardQueueServiceImpl;
+import com.softserve.academy.spaced.repetition.service.scheduling.CardSchedulers;
 import org.junit.Before;
 import org.junit.ClassRule;
 import org.junit.Rule;
@@ -20,6 +24,7 @@ import org.mockito.Mock;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.jdbc.Sql;
 import org.springframework.test.context.junit4.rules.SpringClassRule;
@@ -62,6 +67,21 @@ public class UserCardQueueServiceTest {
     @Autowired
     private RememberingLevelRepository rememberingLevelRepository;
 
+    @Autowired
+    private DueCardIndex dueCardIndex;
+
+    @Autowired
+    private RememberingLevelCache rememberingLevelCache;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CardSchedulers cardSchedulers;
+
+    @Autowired
+    private DueCountCache dueCountCache;
+
     @Mock
     private UserService mockedUserService;
 
@@ -92,7 +112,8 @@ public class UserCardQueueServiceTest {
     @Before
     public void setUp() throws Exception {
         userCardQueueService = new UserCardQueueServiceImpl(userCardQueueRepository, mockedUserService,
-                rememberingLevelRepository);
+                rememberingLevelRepository, dueCardIndex, rememberingLevelCache, jdbcTemplate, cardSchedulers,
+                dueCountCache);
         User mockedUser = createMockedUser(learningRegime);
         when(mockedUserService.getAuthorizedUser()).thenReturn(mockedUser);
         startingRememberingLevel = rememberingLevelRepository
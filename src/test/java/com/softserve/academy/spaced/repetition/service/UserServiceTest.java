@@ -6,6 +6,8 @@ import com.softserve.academy.spaced.repetition.domain.*;
 import com.softserve.academy.spaced.repetition.utils.exceptions.NotAuthorisedUserException;
 import com.softserve.academy.spaced.repetition.repository.DeckRepository;
 import com.softserve.academy.spaced.repetition.repository.UserRepository;
+import com.softserve.academy.spaced.repetition.security.JwtRevocationCache;
+import com.softserve.academy.spaced.repetition.service.cache.AuthorizedUserContext;
 import com.softserve.academy.spaced.repetition.service.impl.ImageServiceImpl;
 import com.softserve.academy.spaced.repetition.service.impl.UserServiceImpl;
 import org.junit.Before;
@@ -43,6 +45,10 @@ public class UserServiceTest {
     private UserRepository userRepository;
     @Autowired
     private DeckRepository deckRepository;
+    @Autowired
+    private AuthorizedUserContext authorizedUserContext;
+    @Autowired
+    private JwtRevocationCache jwtRevocationCache;
     @Mock
     private PasswordEncoder mockedPasswordEncoder;
 
@@ -63,6 +69,8 @@ public class UserServiceTest {
         mockedImageService = PowerMockito.spy(new ImageServiceImpl());
         userServiceUnderTest.setImageService(mockedImageService);
         userServiceUnderTest.setMailService(mockedMailService);
+        userServiceUnderTest.setAuthorizedUserContext(authorizedUserContext);
+        userServiceUnderTest.setJwtRevocationCache(jwtRevocationCache);
     }
 
     Person mockedPerson = new Person("firstName", "lastName");
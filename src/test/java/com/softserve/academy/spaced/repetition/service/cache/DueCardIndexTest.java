@@ -0,0 +1,107 @@
+package com.softserve.academy.spaced.repetition.service.cache;
+
+import com.softserve.academy.spaced.repetition.repository.UserCardQueueRepository;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.boot.actuate.metrics.CounterService;
+import org.springframework.boot.actuate.metrics.GaugeService;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.*;
+
+public class DueCardIndexTest {
+    private static final long HOUR_IN_MILLISECONDS = 60 * 60 * 1000;
+    private static final Long USER_ID = 1L;
+    private static final Long DECK_ID = 1L;
+
+    private final Date now = new Date();
+    private final Date past = new Date(now.getTime() - HOUR_IN_MILLISECONDS);
+    private final Date earlierPast = new Date(now.getTime() - 2 * HOUR_IN_MILLISECONDS);
+    private final Date future = new Date(now.getTime() + HOUR_IN_MILLISECONDS);
+
+    private UserCardQueueRepository userCardQueueRepository;
+    private DueCardIndex dueCardIndex;
+
+    @Before
+    public void setUp() {
+        userCardQueueRepository = mock(UserCardQueueRepository.class);
+        when(userCardQueueRepository.findCardDatesToRepeatByUserIdAndDeckId(USER_ID, DECK_ID)).thenReturn(
+                Arrays.asList(new Object[]{1L, past}, new Object[]{2L, earlierPast}, new Object[]{3L, future}));
+        dueCardIndex = new DueCardIndex(userCardQueueRepository, mock(CounterService.class),
+                mock(GaugeService.class));
+    }
+
+    @After
+    public void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    public void returnDueCardsOrderedByDateToRepeat() {
+        assertEquals(Arrays.asList(2L, 1L), dueCardIndex.getDueCardIds(USER_ID, DECK_ID, now, 10));
+        assertEquals(Collections.singletonList(2L), dueCardIndex.getDueCardIds(USER_ID, DECK_ID, now, 1));
+        verify(userCardQueueRepository, times(1)).findCardDatesToRepeatByUserIdAndDeckId(USER_ID, DECK_ID);
+    }
+
+    @Test
+    public void moveCardsOnUpdate() {
+        dueCardIndex.getDueCardIds(USER_ID, DECK_ID, now, 10);
+        dueCardIndex.update(USER_ID, DECK_ID, 2L, future);
+        dueCardIndex.update(USER_ID, DECK_ID, 3L, earlierPast);
+        dueCardIndex.update(USER_ID, DECK_ID, 4L, past);
+
+        assertEquals(Arrays.asList(3L, 1L, 4L), dueCardIndex.getDueCardIds(USER_ID, DECK_ID, now, 10));
+    }
+
+    @Test
+    public void applyUpdateInsideTransactionAfterCommit() {
+        dueCardIndex.getDueCardIds(USER_ID, DECK_ID, now, 10);
+        TransactionSynchronizationManager.initSynchronization();
+        dueCardIndex.update(USER_ID, DECK_ID, 2L, future);
+
+        assertEquals(Arrays.asList(2L, 1L), dueCardIndex.getDueCardIds(USER_ID, DECK_ID, now, 10));
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertEquals(Collections.singletonList(1L), dueCardIndex.getDueCardIds(USER_ID, DECK_ID, now, 10));
+    }
+
+    @Test
+    public void skipUpdateOfRolledBackTransaction() {
+        dueCardIndex.getDueCardIds(USER_ID, DECK_ID, now, 10);
+        TransactionSynchronizationManager.initSynchronization();
+        dueCardIndex.update(USER_ID, DECK_ID, 2L, future);
+        TransactionSynchronizationManager.getSynchronizations().forEach(synchronization ->
+                synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        assertEquals(Arrays.asList(2L, 1L), dueCardIndex.getDueCardIds(USER_ID, DECK_ID, now, 10));
+    }
+
+    @Test
+    public void replayUpdateCommittedWhileLoading() {
+        when(userCardQueueRepository.findCardDatesToRepeatByUserIdAndDeckId(USER_ID, DECK_ID)).then(invocation -> {
+            dueCardIndex.update(USER_ID, DECK_ID, 2L, future);
+            return Arrays.asList(new Object[]{1L, past}, new Object[]{2L, earlierPast});
+        });
+
+        assertEquals(Collections.singletonList(1L), dueCardIndex.getDueCardIds(USER_ID, DECK_ID, now, 10));
+        assertEquals(Collections.singletonList(1L), dueCardIndex.getDueCardIds(USER_ID, DECK_ID, now, 10));
+        verify(userCardQueueRepository, times(1)).findCardDatesToRepeatByUserIdAndDeckId(USER_ID, DECK_ID);
+    }
+
+    @Test
+    public void reloadEvictedSchedule() {
+        dueCardIndex.getDueCardIds(USER_ID, DECK_ID, now, 10);
+        dueCardIndex.evict(USER_ID, DECK_ID);
+        dueCardIndex.getDueCardIds(USER_ID, DECK_ID, now, 10);
+        verify(userCardQueueRepository, times(2)).findCardDatesToRepeatByUserIdAndDeckId(USER_ID, DECK_ID);
+    }
+}
@@ -0,0 +1,88 @@
+package com.softserve.academy.spaced.repetition.service.cache;
+
+import com.softserve.academy.spaced.repetition.repository.UserCardQueueRepository;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.Date;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.*;
+
+public class DueCountCacheTest {
+    private static final long HOUR_IN_MILLISECONDS = 60 * 60 * 1000;
+    private static final Long USER_ID = 1L;
+    private static final Long OTHER_USER_ID = 2L;
+
+    private UserCardQueueRepository userCardQueueRepository;
+    private DueCountCache dueCountCache;
+
+    @Before
+    public void setUp() {
+        userCardQueueRepository = mock(UserCardQueueRepository.class);
+        when(userCardQueueRepository.countCardsToRepeatByDeckId(eq(USER_ID), any(Date.class)))
+                .thenReturn(Collections.singletonList(new Object[]{1L, 2L}));
+        dueCountCache = new DueCountCache(userCardQueueRepository);
+    }
+
+    @Test
+    public void adjustCountsOnReviews() {
+        assertEquals(Collections.singletonMap(1L, 2L), dueCountCache.getDueCounts(USER_ID));
+
+        Date past = new Date(System.currentTimeMillis() - HOUR_IN_MILLISECONDS);
+        Date afterTomorrow = new Date(System.currentTimeMillis() + 48 * HOUR_IN_MILLISECONDS);
+        dueCountCache.update(USER_ID, 1L, past, afterTomorrow);
+        dueCountCache.update(USER_ID, 2L, null, past);
+        dueCountCache.update(USER_ID, 3L, null, afterTomorrow);
+
+        Map<Long, Long> expected = new TreeMap<>();
+        expected.put(1L, 1L);
+        expected.put(2L, 1L);
+        assertEquals(expected, dueCountCache.getDueCounts(USER_ID));
+        verify(userCardQueueRepository, times(1)).countCardsToRepeatByDeckId(eq(USER_ID), any(Date.class));
+    }
+
+    @Test
+    public void reloadCountsAfterRollForward() {
+        dueCountCache.getDueCounts(USER_ID);
+        dueCountCache.rollForward();
+        dueCountCache.getDueCounts(USER_ID);
+        verify(userCardQueueRepository, times(2)).countCardsToRepeatByDeckId(eq(USER_ID), any(Date.class));
+    }
+
+    @Test
+    public void skipDecksWithoutDueCards() {
+        dueCountCache.getDueCounts(USER_ID);
+        Date afterTomorrow = new Date(System.currentTimeMillis() + 48 * HOUR_IN_MILLISECONDS);
+        dueCountCache.update(USER_ID, 1L, new Date(), afterTomorrow);
+        dueCountCache.update(USER_ID, 1L, new Date(), afterTomorrow);
+        assertEquals(Collections.emptyMap(), dueCountCache.getDueCounts(USER_ID));
+    }
+
+    @Test
+    public void cacheCountsLoadedWhileOtherUserReviews() {
+        when(userCardQueueRepository.countCardsToRepeatByDeckId(eq(USER_ID), any(Date.class))).then(invocation -> {
+            dueCountCache.update(OTHER_USER_ID, 1L, null, new Date());
+            return Collections.singletonList(new Object[]{1L, 2L});
+        });
+        dueCountCache.getDueCounts(USER_ID);
+        dueCountCache.getDueCounts(USER_ID);
+        verify(userCardQueueRepository, times(1)).countCardsToRepeatByDeckId(eq(USER_ID), any(Date.class));
+    }
+
+    @Test
+    public void reloadCountsLoadedWhileSameUserReviews() {
+        when(userCardQueueRepository.countCardsToRepeatByDeckId(eq(USER_ID), any(Date.class))).then(invocation -> {
+            dueCountCache.update(USER_ID, 1L, null, new Date());
+            return Collections.singletonList(new Object[]{1L, 2L});
+        });
+        dueCountCache.getDueCounts(USER_ID);
+        dueCountCache.getDueCounts(USER_ID);
+        verify(userCardQueueRepository, times(2)).countCardsToRepeatByDeckId(eq(USER_ID), any(Date.class));
+    }
+}
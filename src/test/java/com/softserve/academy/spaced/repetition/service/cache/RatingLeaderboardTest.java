@@ -0,0 +1,54 @@
+package com.softserve.academy.spaced.repetition.service.cache;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+
+public class RatingLeaderboardTest {
+
+    private RatingLeaderboard leaderboard;
+
+    @Before
+    public void setUp() {
+        Map<Long, Double> ratings = new HashMap<>();
+        ratings.put(1L, 3.0);
+        ratings.put(2L, 5.0);
+        ratings.put(3L, 3.0);
+        ratings.put(4L, 1.0);
+        leaderboard = new RatingLeaderboard();
+        leaderboard.replaceAll(ratings);
+    }
+
+    @Test
+    public void orderByRatingThenById() {
+        assertEquals(Arrays.asList(2L, 1L, 3L, 4L), leaderboard.getTop(10));
+    }
+
+    @Test
+    public void moveOnChangedRating() {
+        leaderboard.put(4L, 4.0);
+        leaderboard.put(2L, 0.5);
+        assertEquals(Arrays.asList(4L, 1L, 3L, 2L), leaderboard.getTop(10));
+    }
+
+    @Test
+    public void addAndRemove() {
+        leaderboard.put(5L, 3.0);
+        leaderboard.remove(1L);
+        assertEquals(Arrays.asList(2L, 3L, 5L, 4L), leaderboard.getTop(10));
+    }
+
+    @Test
+    public void pageOverSnapshot() {
+        Page<Long> page = leaderboard.getPage(new PageRequest(1, 3));
+        assertEquals(Arrays.asList(4L), page.getContent());
+        assertEquals(4, page.getTotalElements());
+    }
+}
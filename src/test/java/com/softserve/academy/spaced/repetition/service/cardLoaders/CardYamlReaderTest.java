@@ -0,0 +1,53 @@
+package com.softserve.academy.spaced.repetition.service.cardLoaders;
+
+import com.softserve.academy.spaced.repetition.controller.utils.dto.CardFileDTO;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class CardYamlReaderTest {
+
+    @Test
+    public void readCardsTemplate() throws IOException {
+        List<CardFileDTO> cards = new ArrayList<>();
+        try (CardYamlReader reader = new CardYamlReader(getClass().getResourceAsStream("/data/CardsTemplate.yml"))) {
+            reader.forEachRemaining(cards::add);
+        }
+        assertEquals(3, cards.size());
+        assertEquals("Card 1", cards.get(0).getTitle());
+        assertEquals("What is Singleton class?", cards.get(2).getQuestion());
+    }
+
+    @Test
+    public void readFileWithoutCards() throws IOException {
+        try (CardYamlReader reader = new CardYamlReader(toStream("cards:\n"))) {
+            assertTrue(!reader.hasNext());
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void readCardWithUnknownField() throws IOException {
+        try (CardYamlReader reader = new CardYamlReader(toStream("cards:\n- title: a\n  hint: b\n"))) {
+            reader.next();
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void readBrokenFile() throws IOException {
+        try (CardYamlReader reader = new CardYamlReader(toStream("cards:\n- title: 'a\n"))) {
+            reader.next();
+        }
+    }
+
+    private InputStream toStream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
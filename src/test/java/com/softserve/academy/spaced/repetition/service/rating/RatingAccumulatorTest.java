@@ -0,0 +1,53 @@
+package com.softserve.academy.spaced.repetition.service.rating;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyListOf;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.*;
+
+public class RatingAccumulatorTest {
+    private static final Long DECK_ID = 3L;
+
+    private JdbcTemplate jdbcTemplate;
+    private ApplicationEventPublisher eventPublisher;
+    private RatingAccumulator ratingAccumulator;
+
+    @Before
+    public void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        eventPublisher = mock(ApplicationEventPublisher.class);
+        ratingAccumulator = new RatingAccumulator(jdbcTemplate, mock(PlatformTransactionManager.class),
+                eventPublisher);
+    }
+
+    @Test
+    public void keepVotesThatFailedToApply() {
+        when(jdbcTemplate.batchUpdate(anyString(), anyListOf(Object[].class)))
+                .thenThrow(new QueryTimeoutException("timeout"));
+        ratingAccumulator.add(RatedEntity.DECK, DECK_ID, 4, 1);
+        ratingAccumulator.flush();
+
+        assertTrue(ratingAccumulator.hasPending(RatedEntity.DECK, DECK_ID));
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+    }
+
+    @Test
+    public void applyVotesOnceWhenListenerFails() {
+        doThrow(new QueryTimeoutException("timeout")).when(eventPublisher).publishEvent(any(Object.class));
+        ratingAccumulator.add(RatedEntity.DECK, DECK_ID, 4, 1);
+        ratingAccumulator.flush();
+        ratingAccumulator.flush();
+
+        assertFalse(ratingAccumulator.hasPending(RatedEntity.DECK, DECK_ID));
+        verify(jdbcTemplate, times(1)).batchUpdate(anyString(), anyListOf(Object[].class));
+    }
+}
@@ -0,0 +1,84 @@
+package com.softserve.academy.spaced.repetition.service.scheduling;
+
+import com.softserve.academy.spaced.repetition.domain.enums.UserCardQueueStatus;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class CardSchedulerTest {
+    private static final int MAX_INTERVAL_DAYS = 36500;
+    private static final int SIMULATED_REVIEWS = 1000000;
+
+    private final Sm2Scheduler sm2Scheduler = new Sm2Scheduler();
+    private final FsrsScheduler fsrsScheduler = new FsrsScheduler();
+
+    @Test
+    public void sm2IntervalsGrowWithCorrectAnswers() {
+        long state = sm2Scheduler.review(0, UserCardQueueStatus.NORMAL, 0);
+        assertEquals(1, sm2Scheduler.getIntervalDays(state));
+        state = sm2Scheduler.review(state, UserCardQueueStatus.NORMAL, 1);
+        assertEquals(6, sm2Scheduler.getIntervalDays(state));
+        state = sm2Scheduler.review(state, UserCardQueueStatus.GOOD, 6);
+        assertTrue(sm2Scheduler.getIntervalDays(state) > 6);
+    }
+
+    @Test
+    public void sm2StartsOverAfterBadAnswer() {
+        long state = sm2Scheduler.review(0, UserCardQueueStatus.GOOD, 0);
+        state = sm2Scheduler.review(state, UserCardQueueStatus.GOOD, 1);
+        state = sm2Scheduler.review(state, UserCardQueueStatus.BAD, 6);
+        assertEquals(1, sm2Scheduler.getIntervalDays(state));
+        state = sm2Scheduler.review(state, UserCardQueueStatus.NORMAL, 1);
+        assertEquals(1, sm2Scheduler.getIntervalDays(state));
+    }
+
+    @Test
+    public void fsrsIntervalsGrowWithCorrectAnswers() {
+        long state = fsrsScheduler.review(0, UserCardQueueStatus.NORMAL, 0);
+        int interval = fsrsScheduler.getIntervalDays(state);
+        for (int i = 0; i < 3; i++) {
+            state = fsrsScheduler.review(state, UserCardQueueStatus.NORMAL, interval);
+            int nextInterval = fsrsScheduler.getIntervalDays(state);
+            assertTrue(nextInterval > interval);
+            interval = nextInterval;
+        }
+    }
+
+    @Test
+    public void fsrsIntervalShrinksAfterBadAnswer() {
+        long state = fsrsScheduler.review(0, UserCardQueueStatus.GOOD, 0);
+        int interval = fsrsScheduler.getIntervalDays(state);
+        state = fsrsScheduler.review(state, UserCardQueueStatus.BAD, interval);
+        assertTrue(fsrsScheduler.getIntervalDays(state) < interval);
+    }
+
+    @Test
+    public void sm2KeepsIntervalsInRangeOverSimulatedReviews() {
+        simulate(sm2Scheduler);
+    }
+
+    @Test
+    public void fsrsKeepsIntervalsInRangeOverSimulatedReviews() {
+        simulate(fsrsScheduler);
+    }
+
+    /**
+     * Replays random answers of a thousand cards, each answered late or early by a few days.
+     */
+    private static void simulate(CardScheduler scheduler) {
+        Random random = new Random(42);
+        UserCardQueueStatus[] statuses = UserCardQueueStatus.values();
+        long[] states = new long[1000];
+        for (int i = 0; i < SIMULATED_REVIEWS; i++) {
+            int card = random.nextInt(states.length);
+            int elapsedDays = states[card] == 0 ? 0
+                    : Math.max(0, scheduler.getIntervalDays(states[card]) + random.nextInt(7) - 3);
+            states[card] = scheduler.review(states[card], statuses[random.nextInt(statuses.length)], elapsedDays);
+            int interval = scheduler.getIntervalDays(states[card]);
+            assertTrue(interval >= 1 && interval <= MAX_INTERVAL_DAYS);
+        }
+    }
+}
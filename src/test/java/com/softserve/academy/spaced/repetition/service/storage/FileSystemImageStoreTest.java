@@ -0,0 +1,68 @@
+package com.softserve.academy.spaced.repetition.service.storage;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class FileSystemImageStoreTest {
+    private static final byte[] CONTENT = "image".getBytes(StandardCharsets.US_ASCII);
+    private static final long HOUR_IN_MILLISECONDS = 60 * 60 * 1000;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private FileSystemImageStore imageStore;
+
+    @Before
+    public void setUp() {
+        imageStore = new FileSystemImageStore(folder.getRoot().getPath());
+    }
+
+    @Test
+    public void deleteOnlyContentNotSavedSince() {
+        String key = imageStore.save(CONTENT);
+        long sweepStart = System.currentTimeMillis() + HOUR_IN_MILLISECONDS;
+        List<String> keys = new ArrayList<>();
+        imageStore.forEachKeySavedBefore(sweepStart, keys::add);
+        assertEquals(Collections.singletonList(key), keys);
+
+        assertFalse(imageStore.deleteIfSavedBefore(key, System.currentTimeMillis() - HOUR_IN_MILLISECONDS));
+        assertNotNull(imageStore.load(key));
+        assertTrue(imageStore.deleteIfSavedBefore(key, sweepStart));
+        assertNull(imageStore.load(key));
+    }
+
+    @Test
+    public void markExistingContentAsSavedAgain() throws Exception {
+        String key = imageStore.save(CONTENT);
+        long hourAgo = System.currentTimeMillis() - HOUR_IN_MILLISECONDS;
+        Files.setLastModifiedTime(folder.getRoot().toPath().resolve(key.substring(0, 2)).resolve(key),
+                FileTime.fromMillis(hourAgo - HOUR_IN_MILLISECONDS));
+        assertEquals(key, imageStore.save(CONTENT));
+
+        assertFalse(imageStore.deleteIfSavedBefore(key, hourAgo));
+        assertNotNull(imageStore.load(key));
+    }
+
+    @Test
+    public void skipContentSavedWithinGracePeriod() {
+        imageStore.save(CONTENT);
+        List<String> keys = new ArrayList<>();
+        imageStore.forEachKeySavedBefore(System.currentTimeMillis() - HOUR_IN_MILLISECONDS, keys::add);
+        assertTrue(keys.isEmpty());
+    }
+}
@@ -0,0 +1,36 @@
+package com.softserve.academy.spaced.repetition.service.storage;
+
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class ImageTypesTest {
+
+    @Test
+    public void detectRasterFormatsBySignature() {
+        assertEquals(ImageTypes.JPEG, ImageTypes.detect(new byte[]{(byte) 0xFF, (byte) 0xD8, (byte) 0xFF, 0}));
+        assertEquals(ImageTypes.PNG, ImageTypes.detect(new byte[]{(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'}));
+        assertEquals(ImageTypes.GIF, ImageTypes.detect("GIF89a...".getBytes(StandardCharsets.US_ASCII)));
+        assertEquals(ImageTypes.WEBP, ImageTypes.detect("RIFF\0\0\0\0WEBPVP8 ".getBytes(StandardCharsets.US_ASCII)));
+    }
+
+    @Test
+    public void rejectScriptableAndUnknownContent() {
+        assertNull(ImageTypes.detect("<svg xmlns=\"http://www.w3.org/2000/svg\"><script/></svg>"
+                .getBytes(StandardCharsets.UTF_8)));
+        assertNull(ImageTypes.detect("<html>".getBytes(StandardCharsets.UTF_8)));
+        assertNull(ImageTypes.detect(new byte[0]));
+    }
+
+    @Test
+    public void serveOnlyRasterTypes() {
+        assertTrue(ImageTypes.isRaster("image/PNG"));
+        assertFalse(ImageTypes.isRaster("image/svg+xml"));
+        assertFalse(ImageTypes.isRaster(null));
+    }
+}
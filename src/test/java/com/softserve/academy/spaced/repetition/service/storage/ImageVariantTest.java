@@ -0,0 +1,31 @@
+package com.softserve.academy.spaced.repetition.service.storage;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class ImageVariantTest {
+    private static final int[] SIZES = {64, 128, 256};
+
+    @Test
+    public void noVariantWithoutParameters() {
+        assertNull(ImageVariant.of(null, null, null, ImageTypes.PNG, SIZES));
+    }
+
+    @Test
+    public void acceptConfiguredSizes() {
+        ImageVariant variant = ImageVariant.of(128, null, null, ImageTypes.JPEG, SIZES);
+        assertEquals("w128h.jpeg", variant.getKey());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectOtherSizes() {
+        ImageVariant.of(100, null, null, ImageTypes.PNG, SIZES);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectUnsupportedFormat() {
+        ImageVariant.of(64, 64, "svg", ImageTypes.PNG, SIZES);
+    }
+}